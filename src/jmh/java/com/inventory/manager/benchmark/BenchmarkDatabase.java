@@ -0,0 +1,139 @@
+package com.inventory.manager.benchmark;
+
+import com.inventory.manager.InventoryManagerApplication;
+import com.inventory.manager.service.ItemSearchIndex;
+import com.inventory.manager.service.MovementRollupService;
+import com.inventory.manager.service.StockLedgerService;
+import com.inventory.manager.service.StockSummaryService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application context over a private in-memory H2, seeded once per trial.
+ *
+ * <p>Sizes are JMH parameters, so one run can sweep them:
+ * {@code -p items=10000,100000,1000000 -p movements=10000000}.
+ * Seeded rows are generated inside the database ({@code SYSTEM_RANGE}), which keeps even the
+ * largest sizes to seconds of setup.
+ *
+ * <p>The application runs with the configuration shipped in {@code src/main/resources} (not the
+ * test one) under the Spring profile given by {@code -p profile=dev,prod}. The prod profile keeps
+ * its Hibernate, Hikari and logging settings but runs on H2 as well, so the comparison measures
+ * the configuration alone.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    /** Search terms mixed into the seeded item names. */
+    static final String[] NAME_WORDS = {"laptop", "monitor", "keyboard", "printer", "router"};
+
+    @Param({"10000"})
+    public int items;
+
+    @Param({"100000"})
+    public int movements;
+
+    @Param({"dev"})
+    public String profile;
+
+    /** Hibernate second-level and query cache ({@code inventory.l2-cache.enabled}). */
+    @Param({"false"})
+    public String l2Cache;
+
+    protected ConfigurableApplicationContext context;
+    private long firstItemId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.config.location=file:src/main/resources/",
+                // the prod PgJDBC driver properties are passed through to H2, which must ignore them
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE;"
+                        + "DATABASE_TO_UPPER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.flyway.locations=classpath:db/migration",
+                // H2 migrations leave movements unpartitioned, whatever the profile says
+                "--inventory.movements.partitioned=false",
+                "--inventory.l2-cache.enabled=" + l2Cache,
+                "--spring.main.banner-mode=off"));
+        arguments.addAll(extraArguments());
+        context = new SpringApplicationBuilder(InventoryManagerApplication.class)
+                .web(webApplicationType())
+                .profiles(profile)
+                // arguments win over every properties file, whatever the profile sets
+                .run(arguments.toArray(String[]::new));
+        // prod turns auto-commit off, so the seed needs an explicit transaction
+        context.getBean(TransactionTemplate.class)
+                .executeWithoutResult(status -> seed(context.getBean(JdbcTemplate.class)));
+        // built on startup (the first snapshot and the rollups by the migrations), before the seeded rows existed
+        context.getBean(ItemSearchIndex.class).rebuild();
+        context.getBean(StockSummaryService.class).rebuild();
+        context.getBean(MovementRollupService.class).rebuild();
+        context.getBean(StockLedgerService.class).takeSnapshot();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.NONE;
+    }
+
+    protected List<String> extraArguments() {
+        return List.of();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** Id of the n-th seeded item, wrapping around. */
+    public long itemId(long n) {
+        return firstItemId + Math.floorMod(n, items);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        firstItemId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM items", Long.class);
+        StringBuilder name = new StringBuilder("CASE MOD(X, ").append(NAME_WORDS.length).append(')');
+        for (int i = 0; i < NAME_WORDS.length; i++) {
+            name.append(" WHEN ").append(i).append(" THEN '").append(NAME_WORDS[i]).append("'");
+        }
+        name.append(" END");
+
+        jdbcTemplate.update("INSERT INTO items (id, sku, name, description, quantity, unit_price, "
+                + "location_id, supplier_id, status) "
+                + "SELECT ? + X - 1, 'BENCH-' || X, 'Benchmark ' || " + name + " || ' ' || X, "
+                + "'Seeded benchmark item', MOD(X, 500), 10.00, 1 + MOD(X, 2), 1 + MOD(X, 2), 'AVAILABLE' "
+                + "FROM SYSTEM_RANGE(1, ?)", firstItemId, items);
+        jdbcTemplate.update("INSERT INTO stock_levels (item_id, location_id, quantity) "
+                + "SELECT id, location_id, quantity FROM items WHERE id >= ? AND quantity > 0", firstItemId);
+        // ledger entries of an item are numbered in date order; the last one ends at the item's quantity
+        jdbcTemplate.update("INSERT INTO movements (id, item_id, type, quantity, to_location_id, "
+                + "movement_date, performed_by, sequence_no, quantity_after) "
+                + "SELECT (SELECT COALESCE(MAX(id), 0) FROM movements) + X, ? + MOD(X, ?), 'RECEIPT', 1, "
+                + "1 + MOD(X, 2), DATEADD('MINUTE', X - ?, CURRENT_TIMESTAMP), 'benchmark', "
+                + "X / ? + 1, MOD(MOD(X, ?) + 1, 500) "
+                + "FROM SYSTEM_RANGE(1, ?)", firstItemId, items, movements, items, items, movements);
+
+        // ids were assigned by hand, so move the pooled sequences past them (see V4, V5)
+        jdbcTemplate.execute("ALTER SEQUENCE items_seq RESTART WITH (SELECT MAX(id) + 50 FROM items)");
+        jdbcTemplate.execute("ALTER SEQUENCE movements_seq RESTART WITH (SELECT MAX(id) + 50 FROM movements)");
+    }
+}
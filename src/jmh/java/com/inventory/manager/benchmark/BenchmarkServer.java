@@ -0,0 +1,35 @@
+package com.inventory.manager.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+
+import java.util.List;
+
+/**
+ * {@link BenchmarkDatabase} behind a real Tomcat on a random port, running requests on
+ * platform threads (Tomcat's bounded worker pool) or on virtual threads with the
+ * concurrency limit of {@code ThreadingConfig}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkServer extends BenchmarkDatabase {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Override
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.SERVLET;
+    }
+
+    @Override
+    protected List<String> extraArguments() {
+        return List.of("--server.port=0",
+                "--spring.threads.virtual.enabled=" + "virtual".equals(threads));
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+}
@@ -0,0 +1,97 @@
+package com.inventory.manager.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test comparing platform-thread and virtual-thread request execution:
+ * {@code -Djmh.args="HttpLoad -p threads=platform,virtual"}.
+ *
+ * <p>More client threads than Tomcat's 200 workers keep the server saturated. Sample-time
+ * mode reports latency percentiles, and the {@code ok} / {@code rejected} counters show
+ * throughput split into served requests and 503s from back-pressure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(400)
+public class HttpLoadBenchmark {
+
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup
+    public void setUp(BenchmarkServer server) {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        baseUrl = server.baseUrl();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            rejected = 0;
+        }
+
+        void record(int status) {
+            if (status == 503) {
+                rejected++;
+            } else if (status < 400) {
+                ok++;
+            } else {
+                throw new IllegalStateException("Unexpected status " + status);
+            }
+        }
+    }
+
+    @Benchmark
+    public void getItem(BenchmarkServer server, Responses responses) throws IOException, InterruptedException {
+        long id = server.itemId(ThreadLocalRandom.current().nextInt(server.items));
+        responses.record(get("/api/items/" + id));
+    }
+
+    @Benchmark
+    public void getItemsPage(BenchmarkServer server, Responses responses) throws IOException, InterruptedException {
+        long after = server.itemId(ThreadLocalRandom.current().nextInt(server.items)) - 1;
+        responses.record(get("/api/items?limit=50&after=" + after));
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
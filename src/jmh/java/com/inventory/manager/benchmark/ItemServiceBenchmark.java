@@ -0,0 +1,87 @@
+package com.inventory.manager.benchmark;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.service.ItemService;
+import com.inventory.manager.service.LocationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item read paths: full listing, keyset page, trigram search (against the {@code LIKE} scan it
+ * replaced) and the single-item entity-to-DTO conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemServiceBenchmark {
+
+    private ItemService itemService;
+    private ItemRepository itemRepository;
+    private LocationService locationService;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        itemService = database.bean(ItemService.class);
+        itemRepository = database.bean(ItemRepository.class);
+        locationService = database.bean(LocationService.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<ItemDTO> getAllItems() {
+        return itemService.getAllItems();
+    }
+
+    @Benchmark
+    public List<ItemDTO> getItemsPage(BenchmarkDatabase database) {
+        long after = database.itemId(ThreadLocalRandom.current().nextInt(database.items)) - 1;
+        return itemService.getItemsAfter(after, 100);
+    }
+
+    @Benchmark
+    public List<ItemDTO> searchItems() {
+        String[] words = BenchmarkDatabase.NAME_WORDS;
+        return itemService.searchItems(words[ThreadLocalRandom.current().nextInt(words.length)], 20);
+    }
+
+    /** The {@code LIKE '%keyword%'} query searches used before the trigram index. */
+    @Benchmark
+    public List<ItemDTO> searchItemsByLikeScan() {
+        String[] words = BenchmarkDatabase.NAME_WORDS;
+        return itemRepository.searchItemDTOsByName(words[ThreadLocalRandom.current().nextInt(words.length)]);
+    }
+
+    @Benchmark
+    public List<ItemDTO> searchItemsBySku(BenchmarkDatabase database) {
+        return itemService.searchItems("BENCH-" + (ThreadLocalRandom.current().nextInt(database.items) + 1), 20);
+    }
+
+    /** Loads one entity and converts it, including the location/supplier name lookups. */
+    @Benchmark
+    public ItemDTO getItemById(BenchmarkDatabase database) {
+        return itemService.getItemById(database.itemId(ThreadLocalRandom.current().nextInt(database.items)));
+    }
+
+    /** Location DTO conversion with the grouped item counts. */
+    @Benchmark
+    public LocationDTO getLocationById() {
+        return locationService.getLocationById(1L + ThreadLocalRandom.current().nextInt(2));
+    }
+}
@@ -0,0 +1,55 @@
+package com.inventory.manager.benchmark;
+
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.service.MovementService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-movement writes from several threads at once. With a small {@code hotItems} most
+ * threads queue on the same item row locks; a large one shows the uncontended cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(8)
+public class MovementServiceBenchmark {
+
+    @Param({"4", "1000"})
+    public int hotItems;
+
+    private MovementService movementService;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        movementService = database.bean(MovementService.class);
+    }
+
+    @Benchmark
+    public MovementDTO createReceipt(BenchmarkDatabase database) {
+        return movementService.createMovement(MovementDTO.builder()
+                .itemId(database.itemId(ThreadLocalRandom.current().nextInt(hotItems)))
+                .toLocationId(1L)
+                .quantity(1)
+                .type(Movement.MovementType.RECEIPT)
+                .performedBy("benchmark")
+                .build());
+    }
+}
@@ -0,0 +1,69 @@
+package com.inventory.manager.benchmark;
+
+import com.inventory.manager.dto.MovementTimeseriesDTO;
+import com.inventory.manager.dto.StockReportDTO;
+import com.inventory.manager.entity.MovementRollup;
+import com.inventory.manager.service.MovementRollupService;
+import com.inventory.manager.service.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportServiceBenchmark {
+
+    private ReportService reportService;
+    private MovementRollupService movementRollupService;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        reportService = database.bean(ReportService.class);
+        movementRollupService = database.bean(MovementRollupService.class);
+    }
+
+    @Benchmark
+    public List<StockReportDTO> generateStockReport() {
+        return reportService.generateStockReport();
+    }
+
+    @Benchmark
+    public List<StockReportDTO> generateStockReportByLocation() {
+        return reportService.generateStockReportByLocation(1L);
+    }
+
+    /** Seeded snapshot plus the ledger entries written by earlier iterations, if any. */
+    @Benchmark
+    public List<StockReportDTO> generateStockReportAsOf() {
+        return reportService.generateStockReportAsOf(LocalDateTime.now());
+    }
+
+    /** Seeded movements are one per minute, so {@code -p movements=525600} fills the whole year. */
+    @Benchmark
+    public List<MovementTimeseriesDTO> movementTimeseriesDailyForAYear() {
+        return movementRollupService.getTimeseries(MovementRollup.Granularity.DAY, MovementRollupService.GroupBy.NONE,
+                LocalDateTime.now().minusYears(1), LocalDateTime.now().plusDays(1), null, null);
+    }
+
+    @Benchmark
+    public List<MovementTimeseriesDTO> movementTimeseriesHourlyByLocationForAWeek() {
+        return movementRollupService.getTimeseries(MovementRollup.Granularity.HOUR,
+                MovementRollupService.GroupBy.LOCATION, LocalDateTime.now().minusWeeks(1), LocalDateTime.now(),
+                null, null);
+    }
+}
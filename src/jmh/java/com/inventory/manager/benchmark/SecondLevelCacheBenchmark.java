@@ -0,0 +1,68 @@
+package com.inventory.manager.benchmark;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.service.ItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput of single-entity lookups with the Hibernate second-level and query cache off
+ * and on: {@code -Djmh.args="SecondLevelCache -p l2Cache=false,true"}. Item reads go to a hot set
+ * of {@link #HOT_ITEMS} items, which the warmup iterations load into the cache when it is on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(4)
+public class SecondLevelCacheBenchmark {
+
+    static final int HOT_ITEMS = 1000;
+
+    private ItemService itemService;
+    private ItemRepository itemRepository;
+    private LocationRepository locationRepository;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        itemService = database.bean(ItemService.class);
+        itemRepository = database.bean(ItemRepository.class);
+        locationRepository = database.bean(LocationRepository.class);
+    }
+
+    /** Entity region: the item by id, converted with the cached location and supplier names. */
+    @Benchmark
+    public ItemDTO getItemById(BenchmarkDatabase database) {
+        return itemService.getItemById(database.itemId(ThreadLocalRandom.current().nextInt(HOT_ITEMS)));
+    }
+
+    /** Query cache for the id, then the entity region. */
+    @Benchmark
+    public Optional<Item> findItemBySku() {
+        return itemRepository.findBySku("BENCH-" + (ThreadLocalRandom.current().nextInt(HOT_ITEMS) + 1));
+    }
+
+    @Benchmark
+    public Optional<Location> findLocationByCode() {
+        return locationRepository.findByCode(ThreadLocalRandom.current().nextBoolean() ? "WH-A" : "WH-B");
+    }
+}
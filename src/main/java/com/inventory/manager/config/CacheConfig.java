@@ -0,0 +1,13 @@
+package com.inventory.manager.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring Cache; the Caffeine caches themselves are declared in application.properties
+ * ({@code spring.cache.*}) so that Boot registers their hit/miss metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
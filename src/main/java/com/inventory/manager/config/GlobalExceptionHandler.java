@@ -1,13 +1,19 @@
 package com.inventory.manager.config;
 
 import com.inventory.manager.dto.ErrorResponse;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -39,6 +45,51 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
     
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleMethodValidationException(
+            HandlerMethodValidationException ex, WebRequest request) {
+        
+        // Ошибки элементов списка (например, POST /api/movements/batch) получают префикс [index]
+        List<ErrorResponse.ValidationError> validationErrors = ex.getAllValidationResults().stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(error -> new ErrorResponse.ValidationError(
+                                fieldName(result, error),
+                                error.getDefaultMessage())))
+                .collect(Collectors.toList());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Validation Failed")
+                .message("Invalid input data")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .validationErrors(validationErrors)
+                .build();
+        
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+    
+    /**
+     * No connection could be obtained within the pool's connection timeout (pool exhausted or
+     * database down): a transient condition, so tell the client to retry instead of 400/500.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(
+            CannotCreateTransactionException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Database is busy, retry later")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+    
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(
             RuntimeException ex, WebRequest request) {
@@ -68,4 +119,13 @@ public class GlobalExceptionHandler {
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
+    
+    private String fieldName(ParameterValidationResult result, MessageSourceResolvable error) {
+        String prefix = result instanceof ParameterErrors errors && errors.getContainerIndex() != null
+                ? "[" + errors.getContainerIndex() + "]" : "";
+        if (error instanceof FieldError fieldError) {
+            return prefix + (prefix.isEmpty() ? "" : ".") + fieldError.getField();
+        }
+        return prefix.isEmpty() ? result.getMethodParameter().getParameterName() : prefix;
+    }
 }
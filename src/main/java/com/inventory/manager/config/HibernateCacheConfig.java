@@ -0,0 +1,86 @@
+package com.inventory.manager.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Supplier;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for items, locations and suppliers, plus the query cache behind
+ * {@code ItemRepository.findBySku} and {@code LocationRepository.findByCode}. Opt-in with
+ * {@code inventory.l2-cache.enabled=true}; the properties files switch it off by default, since
+ * Hibernate would otherwise pick up the JCache region factory from the classpath on its own.
+ *
+ * <p>Regions are Caffeine caches created here through JCache, bounded by
+ * {@code inventory.l2-cache.maximum-size} and {@code expire-after-write}. The cache is local to
+ * the instance: writes made by another instance are only seen once entries expire.
+ *
+ * <p>Writes through entities update their entries. Movements change stock on the locked item
+ * entity for that reason: a bulk JPQL update would evict the whole {@code Item} region, as
+ * Hibernate does for any bulk statement.
+ * Native writes name the table they write ({@code HibernateHints.HINT_NATIVE_SPACES}); without
+ * that Hibernate would clear every region on each of them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.l2-cache.enabled", havingValue = "true")
+public class HibernateCacheConfig {
+    
+    /** Entity and collection regions, named after their default (class and role) names. */
+    static final List<String> DATA_REGIONS = List.of(
+            Item.class.getName(),
+            Location.class.getName(),
+            Location.class.getName() + ".items",
+            Supplier.class.getName(),
+            Supplier.class.getName() + ".items");
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${inventory.l2-cache.maximum-size:10000}") long maximumSize,
+            @Value("${inventory.l2-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        // a provider of its own, so every application context gets and closes its own manager
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("inventory-l2-cache"), getClass().getClassLoader());
+        CaffeineConfiguration<Object, Object> bounded = new CaffeineConfiguration<Object, Object>()
+                // eviction bookkeeping is a few map operations; handing it to the common pool costs more
+                .setExecutorFactory(() -> Runnable::run)
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        for (String region : DATA_REGIONS) {
+            cacheManager.createCache(region, bounded);
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded);
+        // one entry per table and never evicted: a lost timestamp would make stale query results look current
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // a region missing above is a configuration error, not something to create unbounded
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // items change location and supplier on the owning side only; keep the inverse collections current
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+}
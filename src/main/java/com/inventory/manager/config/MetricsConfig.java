@@ -0,0 +1,20 @@
+package com.inventory.manager.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns {@code @Timed} on service methods into timers. HTTP endpoints, the Hikari pool and
+ * Hibernate statistics are instrumented by Boot itself (see {@code management.*} in
+ * application.properties); everything is scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
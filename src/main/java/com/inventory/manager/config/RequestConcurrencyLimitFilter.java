@@ -0,0 +1,75 @@
+package com.inventory.manager.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of API requests handled at once. With virtual threads Tomcat no longer stops
+ * at its 200 worker threads, so without a cap a burst would queue every request on the
+ * connection pool until they time out together. Here a request waits at most
+ * {@code acquireTimeout} for a slot and is otherwise rejected right away with 503 and
+ * {@code Retry-After}.
+ *
+ * <p>Actuator endpoints are not limited, so health checks and scrapes still answer under load.
+ * For streaming responses only the request thread is counted, not the asynchronous body writer.
+ */
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    static final String RETRY_AFTER_SECONDS = "1";
+    
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final Counter rejected;
+    
+    public RequestConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout, MeterRegistry registry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejected = Counter.builder("inventory.requests.rejected")
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .register(registry);
+        Gauge.builder("inventory.requests.in.flight", () -> maxConcurrentRequests - permits.availablePermits())
+                .description("API requests currently holding a concurrency slot")
+                .register(registry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
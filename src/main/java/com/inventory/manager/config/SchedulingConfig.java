@@ -0,0 +1,12 @@
+package com.inventory.manager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs such as the periodic stock snapshots of {@code StockLedgerService}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
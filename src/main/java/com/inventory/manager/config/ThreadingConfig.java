@@ -0,0 +1,34 @@
+package com.inventory.manager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Back-pressure for the virtual-thread mode ({@code spring.threads.virtual.enabled=true}),
+ * in which Boot runs Tomcat requests and async work on virtual threads. In the default
+ * platform-thread mode Tomcat's bounded worker pool already limits concurrency.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadingConfig {
+    
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            @Value("${inventory.virtual-threads.max-concurrent-requests}") int maxConcurrentRequests,
+            @Value("${inventory.virtual-threads.acquire-timeout}") Duration acquireTimeout,
+            MeterRegistry registry) {
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout, registry));
+        // ahead of everything that could touch the database
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,24 @@
+package com.inventory.manager.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+    
+    private final ChangeStream changeStream;
+    
+    /**
+     * Committed changes as Server-Sent Events, each with its feed offset as the event id.
+     * Resumes after {@code Last-Event-ID} (sent by {@code EventSource} on reconnect) or {@code after}.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(required = false) Long after) {
+        return changeStream.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
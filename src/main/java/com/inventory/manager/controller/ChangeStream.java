@@ -0,0 +1,72 @@
+package com.inventory.manager.controller;
+
+import com.inventory.manager.dto.ChangeEventDTO;
+import com.inventory.manager.service.ChangeFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers the {@link ChangeFeed} to Server-Sent Events subscribers without touching the database.
+ *
+ * <p>Every subscriber gets its own bounded buffer in a {@link SseFanOut}, so a slow client never
+ * holds up writers or other subscribers. A subscriber that falls more than
+ * {@code inventory.changes.subscriber-buffer} changes behind is disconnected; its
+ * {@code EventSource} reconnects with the last event id it received and resumes from the feed.
+ */
+@Component
+class ChangeStream implements DisposableBean {
+    
+    /** Sent instead of the backlog when the requested offset is no longer retained. */
+    static final String RESET_EVENT = "reset";
+    
+    private final ChangeFeed changeFeed;
+    private final SseFanOut<ChangeEventDTO> fanOut;
+    
+    ChangeStream(ChangeFeed changeFeed,
+                 @Value("${inventory.changes.subscriber-buffer:1000}") int bufferSize,
+                 @Value("${inventory.changes.stream-timeout:PT30M}") Duration timeout,
+                 MeterRegistry registry) {
+        this.changeFeed = changeFeed;
+        this.fanOut = new SseFanOut<>("inventory.changes", "Change stream", bufferSize, timeout,
+                ChangeStream::frame, registry);
+    }
+    
+    /**
+     * @param afterOffset the last change the client has seen ({@code Last-Event-ID}), or {@code null}
+     */
+    SseEmitter subscribe(Long afterOffset) {
+        SseFanOut<ChangeEventDTO>.Subscriber subscriber = fanOut.subscribe();
+        // live changes may already be offered; they are all newer than the backlog
+        ChangeFeed.Subscription subscription = changeFeed.subscribe(afterOffset, subscriber::offer);
+        List<SseEmitter.SseEventBuilder> backlog = new ArrayList<>();
+        if (subscription.missedChanges()) {
+            backlog.add(SseEmitter.event()
+                    .id(String.valueOf(subscription.lastOffset()))
+                    .name(RESET_EVENT)
+                    .data(Map.of("lastOffset", subscription.lastOffset()), MediaType.APPLICATION_JSON));
+        }
+        subscription.backlog().forEach(change -> backlog.add(frame(change)));
+        subscriber.start(backlog, subscription.cancel());
+        return subscriber.emitter();
+    }
+    
+    @Override
+    public void destroy() {
+        fanOut.shutdown();
+    }
+    
+    private static SseEmitter.SseEventBuilder frame(ChangeEventDTO change) {
+        return SseEmitter.event()
+                .id(String.valueOf(change.getOffset()))
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,28 @@
+package com.inventory.manager.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for endpoints whose ETag comes from {@code ResourceVersions} rather than from the
+ * body, unlike {@code ShallowEtagHeaderFilter}, which still builds and hashes the whole response.
+ */
+final class ConditionalResponses {
+    
+    private ConditionalResponses() {
+    }
+    
+    /**
+     * Answers {@code 304 Not Modified} when the request's {@code If-None-Match} matches {@code etag},
+     * without calling {@code body}; otherwise returns the body tagged with {@code etag}.
+     */
+    static <T> ResponseEntity<T> ok(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            // the status and the ETag header are already on the response
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+}
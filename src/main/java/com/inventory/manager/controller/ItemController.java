@@ -1,13 +1,28 @@
 package com.inventory.manager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.manager.dto.ChangeEventDTO;
 import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
+import com.inventory.manager.dto.ItemImportResultDTO;
+import com.inventory.manager.service.ItemImportService;
 import com.inventory.manager.service.ItemService;
+import com.inventory.manager.service.ResourceVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,16 +30,59 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     
+    /**
+     * Item DTOs carry quantities, which movements change, and location and supplier names. Only
+     * for collections and reports: a single item is tagged with its own version.
+     */
+    static final ChangeEventDTO.EntityType[] ITEM_SOURCES = {
+            ChangeEventDTO.EntityType.ITEM,
+            ChangeEventDTO.EntityType.MOVEMENT,
+            ChangeEventDTO.EntityType.LOCATION,
+            ChangeEventDTO.EntityType.SUPPLIER};
+    
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
+    private final LowStockAlertStream lowStockAlertStream;
+    private final ResourceVersions resourceVersions;
     
+    /**
+     * All items, or a keyset page of them. The full list answers {@code If-None-Match} with
+     * {@code 304 Not Modified} as long as no item, movement, location or supplier has been written.
+     */
     @GetMapping
-    public ResponseEntity<List<ItemDTO>> getAllItems() {
-        return ResponseEntity.ok(itemService.getAllItems());
+    public ResponseEntity<List<ItemDTO>> getAllItems(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (after == null && limit == null) {
+            return ConditionalResponses.ok(request, resourceVersions.etag(ITEM_SOURCES), itemService::getAllItems);
+        }
+        return StreamingResponses.page(itemService.getItemsAfter(after, limit), ItemDTO::getId);
+    }
+    
+    /**
+     * Incremental sync: items changed since the previous sync's {@code changedUntil}, and the ids
+     * deleted since then. The other list endpoints take {@code changedSince} the same way.
+     */
+    @GetMapping(params = "changedSince")
+    public ResponseEntity<SyncDeltaDTO<ItemDTO>> getItemsChangedSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince) {
+        return ResponseEntity.ok(itemService.getItemsChangedSince(changedSince));
+    }
+    
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllItems() {
+        return StreamingResponses.ndjson(objectMapper, itemService::streamAllItems);
     }
     
+    /**
+     * Answers {@code If-None-Match} with {@code 304 Not Modified} until this item, its location or
+     * its supplier is written; writes to other items do not count.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ItemDTO> getItemById(@PathVariable Long id) {
-        return ResponseEntity.ok(itemService.getItemById(id));
+    public ResponseEntity<ItemDTO> getItemById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ok(request, itemService.getItemEtag(id), () -> itemService.getItemById(id));
     }
     
     @PostMapping
@@ -33,6 +91,13 @@ public class ItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
+    @PostMapping("/import")
+    public ResponseEntity<ItemImportResultDTO> importItems(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(itemImportService.importItems(inputStream, file.getOriginalFilename()));
+        }
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ItemDTO> updateItem(@PathVariable Long id, 
                                              @Valid @RequestBody ItemDTO itemDTO) {
@@ -46,12 +111,21 @@ public class ItemController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<ItemDTO>> searchItems(@RequestParam String keyword) {
-        return ResponseEntity.ok(itemService.searchItems(keyword));
+    public ResponseEntity<List<ItemDTO>> searchItems(@RequestParam String keyword,
+                                                     @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(itemService.searchItems(keyword, limit));
     }
     
+    /**
+     * Without {@code threshold}, the items at or below their own reorder point.
+     */
     @GetMapping("/low-stock")
-    public ResponseEntity<List<ItemDTO>> getLowStockItems(@RequestParam(defaultValue = "10") Integer threshold) {
+    public ResponseEntity<List<ItemDTO>> getLowStockItems(@RequestParam(required = false) Integer threshold) {
         return ResponseEntity.ok(itemService.getLowStockItems(threshold));
     }
+    
+    @GetMapping(value = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStockAlerts() {
+        return lowStockAlertStream.subscribe();
+    }
 }
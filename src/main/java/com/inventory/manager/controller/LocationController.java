@@ -1,13 +1,21 @@
 package com.inventory.manager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.manager.dto.ChangeEventDTO;
 import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
 import com.inventory.manager.service.LocationService;
+import com.inventory.manager.service.ResourceVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,16 +23,47 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LocationController {
     
+    /** Location DTOs count their items, which creates, deletes and transfers change. */
+    static final ChangeEventDTO.EntityType[] LOCATION_SOURCES = {
+            ChangeEventDTO.EntityType.LOCATION,
+            ChangeEventDTO.EntityType.ITEM,
+            ChangeEventDTO.EntityType.MOVEMENT};
+    
     private final LocationService locationService;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions resourceVersions;
     
+    /**
+     * All locations, or a keyset page of them. The full list answers {@code If-None-Match} with
+     * {@code 304 Not Modified} until a location, item or movement is written.
+     */
     @GetMapping
-    public ResponseEntity<List<LocationDTO>> getAllLocations() {
-        return ResponseEntity.ok(locationService.getAllLocations());
+    public ResponseEntity<List<LocationDTO>> getAllLocations(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (after == null && limit == null) {
+            return ConditionalResponses.ok(request, resourceVersions.etag(LOCATION_SOURCES),
+                    locationService::getAllLocations);
+        }
+        return StreamingResponses.page(locationService.getLocationsAfter(after, limit), LocationDTO::getId);
+    }
+    
+    @GetMapping(params = "changedSince")
+    public ResponseEntity<SyncDeltaDTO<LocationDTO>> getLocationsChangedSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince) {
+        return ResponseEntity.ok(locationService.getLocationsChangedSince(changedSince));
+    }
+    
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllLocations() {
+        return StreamingResponses.ndjson(objectMapper, locationService::streamAllLocations);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<LocationDTO> getLocationById(@PathVariable Long id) {
-        return ResponseEntity.ok(locationService.getLocationById(id));
+    public ResponseEntity<LocationDTO> getLocationById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ok(request, resourceVersions.etag(LOCATION_SOURCES),
+                () -> locationService.getLocationById(id));
     }
     
     @GetMapping("/code/{code}")
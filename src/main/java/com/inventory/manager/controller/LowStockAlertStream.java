@@ -0,0 +1,64 @@
+package com.inventory.manager.controller;
+
+import com.inventory.manager.dto.LowStockAlertDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+/**
+ * Fans low-stock alerts out to the clients subscribed through {@code GET /api/items/low-stock/stream}.
+ *
+ * <p>Alerts are published after commit on the writing thread, which only appends them to each
+ * subscriber's bounded buffer in a {@link SseFanOut}, as in {@link ChangeStream}. A subscriber
+ * more than {@code inventory.low-stock.subscriber-buffer} alerts behind is disconnected and
+ * counted in {@code inventory.low-stock.slow.consumer.disconnects}.
+ *
+ * <p>Subscriptions time out after {@code inventory.low-stock.stream-timeout}; browsers'
+ * {@code EventSource} reconnects on its own. Alerts raised while a client was disconnected are
+ * not replayed: a client that (re)connects reads {@code GET /api/items/low-stock} once for the
+ * current state and follows the stream from there.
+ */
+@Component
+class LowStockAlertStream implements DisposableBean {
+    
+    static final String EVENT_NAME = "low-stock";
+    
+    private final SseFanOut<LowStockAlertDTO> fanOut;
+    
+    LowStockAlertStream(@Value("${inventory.low-stock.subscriber-buffer:100}") int bufferSize,
+                        @Value("${inventory.low-stock.stream-timeout:PT30M}") Duration timeout,
+                        MeterRegistry registry) {
+        this.fanOut = new SseFanOut<>("inventory.low-stock", "Low-stock alert stream", bufferSize, timeout,
+                LowStockAlertStream::frame, registry);
+    }
+    
+    SseEmitter subscribe() {
+        return fanOut.subscribe().emitter();
+    }
+    
+    @EventListener
+    public void onAlert(LowStockAlertDTO alert) {
+        fanOut.publish(alert);
+    }
+    
+    int subscriberCount() {
+        return fanOut.subscriberCount();
+    }
+    
+    @Override
+    public void destroy() {
+        fanOut.shutdown();
+    }
+    
+    private static SseEmitter.SseEventBuilder frame(LowStockAlertDTO alert) {
+        return SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(alert, MediaType.APPLICATION_JSON);
+    }
+}
@@ -1,13 +1,17 @@
 package com.inventory.manager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
 import com.inventory.manager.service.MovementService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,10 +22,27 @@ import java.util.List;
 public class MovementController {
     
     private final MovementService movementService;
+    private final ObjectMapper objectMapper;
     
     @GetMapping
-    public ResponseEntity<List<MovementDTO>> getAllMovements() {
-        return ResponseEntity.ok(movementService.getAllMovements());
+    public ResponseEntity<List<MovementDTO>> getAllMovements(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(movementService.getAllMovements());
+        }
+        return StreamingResponses.page(movementService.getMovementsAfter(after, limit), MovementDTO::getId);
+    }
+    
+    @GetMapping(params = "changedSince")
+    public ResponseEntity<SyncDeltaDTO<MovementDTO>> getMovementsChangedSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince) {
+        return ResponseEntity.ok(movementService.getMovementsChangedSince(changedSince));
+    }
+    
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllMovements() {
+        return StreamingResponses.ndjson(objectMapper, movementService::streamAllMovements);
     }
     
     @GetMapping("/{id}")
@@ -35,6 +56,13 @@ public class MovementController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<List<MovementDTO>> createMovements(
+            @RequestBody @NotEmpty List<@Valid MovementDTO> movementDTOs) {
+        List<MovementDTO> created = movementService.createMovements(movementDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+    
     @GetMapping("/item/{itemId}")
     public ResponseEntity<List<MovementDTO>> getMovementsByItem(@PathVariable Long itemId) {
         return ResponseEntity.ok(movementService.getMovementsByItem(itemId));
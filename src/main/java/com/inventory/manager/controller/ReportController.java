@@ -1,11 +1,26 @@
 package com.inventory.manager.controller;
 
+import com.inventory.manager.dto.ChangeEventDTO;
+import com.inventory.manager.dto.MovementTimeseriesDTO;
 import com.inventory.manager.dto.StockReportDTO;
+import com.inventory.manager.dto.StockSummaryDTO;
+import com.inventory.manager.entity.MovementRollup;
+import com.inventory.manager.service.MovementRollupService;
 import com.inventory.manager.service.ReportService;
+import com.inventory.manager.service.ResourceVersions;
+import com.inventory.manager.service.StockLedgerService;
+import com.inventory.manager.service.StockSummaryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -13,15 +28,101 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReportController {
     
+    static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    
     private final ReportService reportService;
+    private final StockSummaryService stockSummaryService;
+    private final StockLedgerService stockLedgerService;
+    private final MovementRollupService movementRollupService;
+    private final ResourceVersions resourceVersions;
     
+    /**
+     * Current stock, or stock as of a point in time. The current report answers
+     * {@code If-None-Match} with {@code 304 Not Modified} until an item, movement, location or
+     * supplier is written, without loading any item.
+     */
     @GetMapping("/stock")
-    public ResponseEntity<List<StockReportDTO>> getStockReport() {
-        return ResponseEntity.ok(reportService.generateStockReport());
+    public ResponseEntity<List<StockReportDTO>> getStockReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf,
+            WebRequest request) {
+        if (asOf == null) {
+            return ConditionalResponses.ok(request, resourceVersions.etag(ItemController.ITEM_SOURCES),
+                    reportService::generateStockReport);
+        }
+        return ResponseEntity.ok(reportService.generateStockReportAsOf(asOf));
+    }
+    
+    @PostMapping("/stock/snapshots")
+    public ResponseEntity<Void> takeStockSnapshot() {
+        stockLedgerService.takeSnapshot();
+        return ResponseEntity.noContent().build();
     }
     
     @GetMapping("/stock/location/{locationId}")
-    public ResponseEntity<List<StockReportDTO>> getStockReportByLocation(@PathVariable Long locationId) {
-        return ResponseEntity.ok(reportService.generateStockReportByLocation(locationId));
+    public ResponseEntity<List<StockReportDTO>> getStockReportByLocation(@PathVariable Long locationId,
+                                                                         WebRequest request) {
+        return ConditionalResponses.ok(request, resourceVersions.etag(ItemController.ITEM_SOURCES),
+                () -> reportService.generateStockReportByLocation(locationId));
+    }
+    
+    @GetMapping("/stock.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportStockReport() {
+        return xlsx("stock-report.xlsx", outputStream -> reportService.exportStockReport(null, outputStream));
+    }
+    
+    @GetMapping("/stock/location/{locationId}.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportStockReportByLocation(@PathVariable Long locationId) {
+        return xlsx("stock-report-location-" + locationId + ".xlsx",
+                outputStream -> reportService.exportStockReport(locationId, outputStream));
+    }
+    
+    @GetMapping("/summary/locations")
+    public ResponseEntity<List<StockSummaryDTO>> getLocationSummaries() {
+        return ResponseEntity.ok(stockSummaryService.getLocationSummaries());
+    }
+    
+    @GetMapping("/summary/locations/{locationId}")
+    public ResponseEntity<StockSummaryDTO> getLocationSummary(@PathVariable Long locationId) {
+        return ResponseEntity.ok(stockSummaryService.getLocationSummary(locationId));
+    }
+    
+    @GetMapping("/summary/suppliers")
+    public ResponseEntity<List<StockSummaryDTO>> getSupplierSummaries() {
+        return ResponseEntity.ok(stockSummaryService.getSupplierSummaries());
+    }
+    
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<Void> rebuildSummaries() {
+        stockSummaryService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Movement counts and quantities per hour or day, read from the rollups only.
+     */
+    @GetMapping("/movements/timeseries")
+    public ResponseEntity<List<MovementTimeseriesDTO>> getMovementTimeseries(
+            @RequestParam(defaultValue = "DAY") MovementRollup.Granularity granularity,
+            @RequestParam(defaultValue = "NONE") MovementRollupService.GroupBy groupBy,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) Long locationId) {
+        return ResponseEntity.ok(movementRollupService.getTimeseries(granularity, groupBy, from, to, itemId, locationId));
+    }
+    
+    @PostMapping("/movements/rollups/rebuild")
+    public ResponseEntity<Void> rebuildMovementRollups() {
+        movementRollupService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+    
+    private ResponseEntity<StreamingResponseBody> xlsx(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(XLSX)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 }
@@ -0,0 +1,163 @@
+package com.inventory.manager.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Server-Sent Events subscribers of one stream, each with its own bounded buffer.
+ *
+ * <p>The publishing thread only appends to the buffers; a virtual thread per busy subscriber
+ * writes them out, so a slow client never holds up publishers or other subscribers and idle
+ * subscribers hold no thread. A subscriber more than {@code bufferSize} events behind is
+ * disconnected and counted in {@code <prefix>.slow.consumer.disconnects}; the number of open
+ * subscriptions is the {@code <prefix>.subscribers} gauge.
+ *
+ * @param <T> the published event, turned into a frame per subscriber since a frame is consumed
+ *            when sent
+ */
+final class SseFanOut<T> {
+    
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Function<T, SseEmitter.SseEventBuilder> frames;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter slowConsumerDisconnects;
+    
+    SseFanOut(String metricPrefix, String description, int bufferSize, Duration timeout,
+              Function<T, SseEmitter.SseEventBuilder> frames, MeterRegistry registry) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.frames = frames;
+        registry.gauge(metricPrefix + ".subscribers", subscribers, Set::size);
+        this.slowConsumerDisconnects = Counter.builder(metricPrefix + ".slow.consumer.disconnects")
+                .description(description + " subscribers dropped for falling behind")
+                .register(registry);
+    }
+    
+    /**
+     * Opens a subscription that times out after the stream timeout; the caller returns the
+     * subscriber's {@link Subscriber#emitter()} from its handler.
+     */
+    Subscriber subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriber.close());
+        return subscriber;
+    }
+    
+    void publish(T event) {
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+    
+    int subscriberCount() {
+        return subscribers.size();
+    }
+    
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+    
+    final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private int capacity = bufferSize;
+        private boolean sending;
+        private boolean closed;
+        private Runnable cancel = () -> { };
+        
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        SseEmitter emitter() {
+            return emitter;
+        }
+        
+        /**
+         * Puts {@code backlog} in front of the events offered so far, without counting it against
+         * the buffer, and registers what to run when the subscription ends.
+         */
+        synchronized void start(List<SseEmitter.SseEventBuilder> backlog, Runnable cancel) {
+            if (closed) {
+                cancel.run();
+                return;
+            }
+            this.cancel = cancel;
+            for (int i = backlog.size() - 1; i >= 0; i--) {
+                queue.addFirst(backlog.get(i));
+            }
+            capacity = bufferSize + queue.size();
+            scheduleSend();
+        }
+        
+        /** Runs on the publishing thread, possibly under its locks: no I/O here. */
+        synchronized void offer(T event) {
+            if (closed) {
+                return;
+            }
+            if (queue.size() >= capacity) {
+                slowConsumerDisconnects.increment();
+                close();
+                // completing waits for a send in progress, which a slow client can hold up
+                senders.execute(emitter::complete);
+                return;
+            }
+            queue.addLast(frames.apply(event));
+            scheduleSend();
+        }
+        
+        synchronized void close() {
+            closed = true;
+            queue.clear();
+            cancel.run();
+            subscribers.remove(this);
+        }
+        
+        private void scheduleSend() {
+            if (!sending && !queue.isEmpty()) {
+                sending = true;
+                senders.execute(this::send);
+            }
+        }
+        
+        private void send() {
+            while (true) {
+                SseEmitter.SseEventBuilder frame;
+                synchronized (this) {
+                    frame = queue.pollFirst();
+                    if (frame == null) {
+                        sending = false;
+                        return;
+                    }
+                    // the backlog has been written out; only live events count from here on
+                    capacity = Math.max(bufferSize, capacity - 1);
+                }
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    // the client went away; the servlet container completes the emitter
+                    close();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventory.manager.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Helpers for the keyset-paginated and NDJSON streaming list endpoints.
+ */
+final class StreamingResponses {
+    
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final String NEXT_AFTER_HEADER = "X-Next-After";
+    
+    private StreamingResponses() {
+    }
+    
+    /**
+     * Returns a keyset page and advertises the cursor for the next one in {@value #NEXT_AFTER_HEADER}.
+     * An empty page carries no cursor and marks the end of the collection.
+     */
+    static <T> ResponseEntity<List<T>> page(List<T> page, Function<T, Long> idExtractor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!page.isEmpty()) {
+            response.header(NEXT_AFTER_HEADER, String.valueOf(idExtractor.apply(page.get(page.size() - 1))));
+        }
+        return response.body(page);
+    }
+    
+    /**
+     * Writes every element handed to the producer's consumer as one JSON document per line,
+     * flushing as it goes instead of buffering the whole collection.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper,
+                                                            Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                producer.accept(value -> {
+                    try {
+                        generator.writeObject(value);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(body);
+    }
+}
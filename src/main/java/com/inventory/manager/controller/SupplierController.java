@@ -1,13 +1,21 @@
 package com.inventory.manager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.manager.dto.ChangeEventDTO;
 import com.inventory.manager.dto.SupplierDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
+import com.inventory.manager.service.ResourceVersions;
 import com.inventory.manager.service.SupplierService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,16 +23,46 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SupplierController {
 
+    /** Supplier DTOs count their items. */
+    static final ChangeEventDTO.EntityType[] SUPPLIER_SOURCES = {
+            ChangeEventDTO.EntityType.SUPPLIER,
+            ChangeEventDTO.EntityType.ITEM};
+
     private final SupplierService supplierService;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions resourceVersions;
 
+    /**
+     * All suppliers, or a keyset page of them. The full list answers {@code If-None-Match} with
+     * {@code 304 Not Modified} until a supplier or item is written.
+     */
     @GetMapping
-    public ResponseEntity<List<SupplierDTO>> getAllSuppliers() {
-        return ResponseEntity.ok(supplierService.getAllSuppliers());
+    public ResponseEntity<List<SupplierDTO>> getAllSuppliers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (after == null && limit == null) {
+            return ConditionalResponses.ok(request, resourceVersions.etag(SUPPLIER_SOURCES),
+                    supplierService::getAllSuppliers);
+        }
+        return StreamingResponses.page(supplierService.getSuppliersAfter(after, limit), SupplierDTO::getId);
+    }
+
+    @GetMapping(params = "changedSince")
+    public ResponseEntity<SyncDeltaDTO<SupplierDTO>> getSuppliersChangedSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince) {
+        return ResponseEntity.ok(supplierService.getSuppliersChangedSince(changedSince));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllSuppliers() {
+        return StreamingResponses.ndjson(objectMapper, supplierService::streamAllSuppliers);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SupplierDTO> getSupplierById(@PathVariable Long id) {
-        return ResponseEntity.ok(supplierService.getSupplierById(id));
+    public ResponseEntity<SupplierDTO> getSupplierById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ok(request, resourceVersions.etag(SUPPLIER_SOURCES),
+                () -> supplierService.getSupplierById(id));
     }
 
     @PostMapping
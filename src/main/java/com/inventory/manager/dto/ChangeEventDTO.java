@@ -0,0 +1,33 @@
+package com.inventory.manager.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEventDTO {
+    /** Position in the change feed, increasing in commit order; the SSE event id. */
+    private long offset;
+    private EntityType entity;
+    private ChangeType type;
+    /** Id of the changed row; {@code null} for {@link ChangeType#BULK_CHANGED}. */
+    private Long id;
+    /** The row after the change ({@code ItemDTO}, {@code MovementDTO}, ...); {@code null} for deletes. */
+    private Object data;
+    private LocalDateTime occurredAt;
+    
+    public enum EntityType {
+        ITEM, MOVEMENT, LOCATION, SUPPLIER
+    }
+    
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /** Many rows changed at once (catalog import); {@code data} lists their ids. */
+        BULK_CHANGED
+    }
+}
@@ -28,6 +28,9 @@ public class ItemDTO {
     @Min(0)
     private Integer quantity;
     
+    @Min(0)
+    private Integer reorderPoint;
+    
     @NotNull(message = "Unit price is required")
     @DecimalMin("0.0")
     private BigDecimal unitPrice;
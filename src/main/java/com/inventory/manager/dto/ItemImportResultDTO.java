@@ -0,0 +1,28 @@
+package com.inventory.manager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportResultDTO {
+    private long totalRows;
+    private long inserted;
+    private long updated;
+    private long failed;
+    private long durationMs;
+    private double rowsPerSecond;
+    private boolean errorsTruncated;
+    private List<RowError> errors;
+    
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String sku;
+        private String message;
+    }
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class LocationDTO {
     
     private Long id;
@@ -30,4 +30,6 @@ public class LocationDTO {
     private Integer itemCount;
     
     private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,26 @@
+package com.inventory.manager.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LowStockAlertDTO {
+    private Long itemId;
+    private String sku;
+    private String itemName;
+    private Integer quantity;
+    private Integer reorderPoint;
+    private AlertType type;
+    private LocalDateTime occurredAt;
+    
+    public enum AlertType {
+        /** The quantity fell to or below the reorder point. */
+        LOW,
+        /** The quantity rose back above the reorder point, or the item stopped being watched. */
+        RESTOCKED
+    }
+}
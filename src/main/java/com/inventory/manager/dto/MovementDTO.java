@@ -35,4 +35,7 @@ public class MovementDTO {
     private String notes;
     private LocalDateTime movementDate;
     private String performedBy;
+    
+    private Long sequenceNumber;
+    private Integer quantityAfter;
 }
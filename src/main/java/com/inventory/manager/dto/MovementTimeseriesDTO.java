@@ -0,0 +1,23 @@
+package com.inventory.manager.dto;
+
+import com.inventory.manager.entity.Movement;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One point of a movement time series. {@code itemId}, {@code locationId} and {@code type} are
+ * set only for the dimension the series is grouped by.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovementTimeseriesDTO {
+    private LocalDateTime bucketStart;
+    private Long itemId;
+    private Long locationId;
+    private Movement.MovementType type;
+    private Long movementCount;
+    private Long totalQuantity;
+}
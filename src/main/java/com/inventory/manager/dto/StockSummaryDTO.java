@@ -0,0 +1,20 @@
+package com.inventory.manager.dto;
+
+import com.inventory.manager.entity.Item;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSummaryDTO {
+    private Long id;
+    private String name;
+    private Long itemCount;
+    private Long totalQuantity;
+    private BigDecimal totalValue;
+    private Map<Item.ItemStatus, Long> itemCountByStatus;
+}
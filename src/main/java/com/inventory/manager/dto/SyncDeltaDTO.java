@@ -0,0 +1,21 @@
+package com.inventory.manager.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncDeltaDTO<T> {
+    /** Rows created or changed since the requested time, oldest change first. */
+    private List<T> changed;
+    /** Ids of the rows deleted since the requested time. */
+    private List<Long> deleted;
+    /** The {@code changedSince} to send next time. */
+    private LocalDateTime changedUntil;
+    /** The delta was cut at {@code inventory.sync.max-changes}: sync again from {@code changedUntil} right away. */
+    private boolean hasMore;
+}
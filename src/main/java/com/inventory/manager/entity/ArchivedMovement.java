@@ -0,0 +1,56 @@
+package com.inventory.manager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ledger entry moved out of {@link Movement} by {@code MovementArchiveService}. Rows are written
+ * in bulk, never through JPA. Deliberately no associations: the archive is history and must not
+ * keep items or locations from being deleted.
+ */
+@Entity
+@Immutable
+@Table(name = "movements_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedMovement {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Movement.MovementType type;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(name = "from_location_id")
+    private Long fromLocationId;
+    
+    @Column(name = "to_location_id")
+    private Long toLocationId;
+    
+    @Column(name = "movement_date", nullable = false)
+    private LocalDateTime movementDate;
+    
+    @Column(length = 500)
+    private String notes;
+    
+    @Column(name = "performed_by", length = 100)
+    private String performedBy;
+    
+    @Column(name = "sequence_no", nullable = false)
+    private Long sequenceNumber;
+    
+    @Column(name = "quantity_after")
+    private Integer quantityAfter;
+}
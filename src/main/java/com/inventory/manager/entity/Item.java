@@ -3,6 +3,8 @@ package com.inventory.manager.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,10 +17,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Item {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Item name is required")
@@ -38,6 +42,20 @@ public class Item {
     @Column(nullable = false)
     private Integer quantity;
     
+    /**
+     * Stock at or below this level is low; {@code null} means the item is not watched.
+     */
+    @Min(value = 0, message = "Reorder point cannot be negative")
+    @Column(name = "reorder_point")
+    private Integer reorderPoint;
+    
+    /**
+     * {@code quantity - reorderPoint}, computed by the database and indexed, so low-stock queries
+     * are range scans. Read-only and not refreshed after writes; use it in queries only.
+     */
+    @Column(name = "stock_margin", insertable = false, updatable = false)
+    private Integer stockMargin;
+    
     @NotNull(message = "Unit price is required")
     @DecimalMin(value = "0.0", inclusive = true, message = "Price cannot be negative")
     @Column(nullable = false, precision = 10, scale = 2)
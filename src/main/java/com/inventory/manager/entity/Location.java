@@ -3,7 +3,10 @@ package com.inventory.manager.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -15,6 +18,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Location {
     
     @Id
@@ -37,6 +41,7 @@ public class Location {
     private LocationType type = LocationType.WAREHOUSE;
     
     @OneToMany(mappedBy = "location", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ToString.Exclude
     private List<Item> items = new ArrayList<>();
     
@@ -44,6 +49,10 @@ public class Location {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
     public enum LocationType {
         WAREHOUSE, STORE, OFFICE, STORAGE
     }
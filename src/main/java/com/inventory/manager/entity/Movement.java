@@ -4,10 +4,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
+/**
+ * One entry of the append-only stock ledger. Entries of an item are numbered 1, 2, 3... in the
+ * order they were applied ({@link #sequenceNumber}, assigned under the item row lock) and record
+ * the item quantity right after them, so the stock of any item at any point in time can be read
+ * off the ledger. Entries are never updated; cold months are moved to {@link ArchivedMovement}.
+ */
 @Entity
+@Immutable
 @Table(name = "movements")
 @Data
 @NoArgsConstructor
@@ -16,7 +24,8 @@ import java.time.LocalDateTime;
 public class Movement {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movements_seq")
+    @SequenceGenerator(name = "movements_seq", sequenceName = "movements_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Item is required")
@@ -53,6 +62,13 @@ public class Movement {
     @Column(length = 100)
     private String performedBy;
     
+    @Column(name = "sequence_no", nullable = false)
+    private Long sequenceNumber;
+    
+    /** Item quantity after this movement; {@code null} for entries recorded before the ledger existed. */
+    @Column(name = "quantity_after")
+    private Integer quantityAfter;
+    
     public enum MovementType {
         TRANSFER, RECEIPT, SHIPMENT, ADJUSTMENT, RETURN
     }
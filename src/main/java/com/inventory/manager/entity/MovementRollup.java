@@ -0,0 +1,50 @@
+package com.inventory.manager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Movement count and quantity of one item, destination location and movement type within one
+ * hour or day. Rows are maintained with deltas by {@code MovementRollupService}, never through JPA writes.
+ */
+@Entity
+@Table(name = "movement_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovementRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+    
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Movement.MovementType type;
+    
+    @Column(name = "movement_count", nullable = false)
+    private Long movementCount;
+    
+    @Column(name = "total_quantity", nullable = false)
+    private Long totalQuantity;
+    
+    public enum Granularity {
+        HOUR, DAY
+    }
+}
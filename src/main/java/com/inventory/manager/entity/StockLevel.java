@@ -0,0 +1,40 @@
+package com.inventory.manager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Quantity of one item held at one location. The item's own quantity is the total over all
+ * locations; its location is only the home location. Single movements change rows with
+ * conditional statements ({@code StockLevelRepository}); batches load and update them as entities.
+ */
+@Entity
+@Table(name = "stock_levels")
+@IdClass(StockLevel.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLevel {
+    
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    
+    @Id
+    @Column(name = "location_id")
+    private Long locationId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long itemId;
+        private Long locationId;
+    }
+}
@@ -0,0 +1,27 @@
+package com.inventory.manager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A point-in-time copy of every item's quantity and location, and of the stock held at each
+ * location. The per-item rows ({@code stock_snapshot_items}, {@code stock_snapshot_levels}) are
+ * written and read with native queries by {@code StockLedgerService}, never through JPA.
+ */
+@Entity
+@Table(name = "stock_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,47 @@
+package com.inventory.manager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Quantity and location of one item in a {@link StockSnapshot}, plus the last ledger sequence
+ * number the snapshot includes. Rows are written in bulk by {@code StockLedgerService}, never
+ * through JPA. Deliberately no association to {@link Item}: snapshots are history and must not
+ * keep items from being deleted.
+ */
+@Entity
+@Table(name = "stock_snapshot_items")
+@IdClass(StockSnapshotItem.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshotItem {
+    
+    @Id
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+    
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    
+    @Column(name = "location_id")
+    private Long locationId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(name = "sequence_no", nullable = false)
+    private Long sequenceNumber;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long snapshotId;
+        private Long itemId;
+    }
+}
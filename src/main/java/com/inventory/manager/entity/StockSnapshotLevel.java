@@ -0,0 +1,49 @@
+package com.inventory.manager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Quantity one item held at one location in a {@link StockSnapshot}, plus the last ledger
+ * sequence number the row includes. Only locations holding stock get a row. Written in bulk by
+ * {@code StockLedgerService}, never through JPA, and like {@link StockSnapshotItem} without
+ * associations, so snapshots never keep items or locations from being deleted.
+ */
+@Entity
+@Table(name = "stock_snapshot_levels")
+@IdClass(StockSnapshotLevel.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshotLevel {
+    
+    @Id
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+    
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    
+    @Id
+    @Column(name = "location_id")
+    private Long locationId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(name = "sequence_no", nullable = false)
+    private Long sequenceNumber;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long snapshotId;
+        private Long itemId;
+        private Long locationId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.inventory.manager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Materialized stock totals of one location or supplier for one item status.
+ * Rows are maintained with deltas by {@code StockSummaryService}, never through JPA writes.
+ */
+@Entity
+@Table(name = "stock_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSummary {
+    
+    /** {@link #dimensionId} of items without a location or supplier. */
+    public static final long UNASSIGNED = 0L;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Dimension dimension;
+    
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Item.ItemStatus status;
+    
+    @Column(name = "item_count", nullable = false)
+    private Long itemCount;
+    
+    @Column(name = "total_quantity", nullable = false)
+    private Long totalQuantity;
+    
+    @Column(name = "total_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalValue;
+    
+    public enum Dimension {
+        LOCATION, SUPPLIER
+    }
+}
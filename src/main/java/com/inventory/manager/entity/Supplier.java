@@ -3,6 +3,8 @@ package com.inventory.manager.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +18,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Supplier {
 
     @Id
@@ -40,6 +43,7 @@ public class Supplier {
     private String contactPerson;
 
     @OneToMany(mappedBy = "supplier", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ToString.Exclude
     private List<Item> items = new ArrayList<>();
 
@@ -0,0 +1,40 @@
+package com.inventory.manager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted row for incremental sync, so clients that fetch {@code ?changedSince=} learn
+ * about deletes as well as changes.
+ */
+@Entity
+@Table(name = "tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Tombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @CreationTimestamp
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+    
+    /** Movements are never deleted and have no tombstones. */
+    public enum EntityType {
+        ITEM, LOCATION, SUPPLIER
+    }
+}
@@ -1,21 +1,69 @@
 package com.inventory.manager.repository;
 
+import com.inventory.manager.dto.ItemDTO;
 import com.inventory.manager.entity.Item;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     
-    Optional<Item> findBySku(String sku);
+    /**
+     * Builds {@link ItemDTO} rows straight from one joined statement, so list endpoints
+     * never touch the lazy location/supplier associations (and never fill the persistence context).
+     */
+    String ITEM_DTO_SELECT = "SELECT new com.inventory.manager.dto.ItemDTO("
+            + "i.id, i.name, i.description, i.sku, i.quantity, i.reorderPoint, i.unitPrice, "
+            + "l.id, l.name, s.id, s.name, i.status, i.createdAt, i.updatedAt) "
+            + "FROM Item i LEFT JOIN i.location l LEFT JOIN i.supplier s";
+    
+    /**
+     * Query-cached when the second-level cache is on ({@code HibernateCacheConfig}). Spelled out
+     * rather than derived, so Hibernate reuses the query plan; a derived query is rebuilt as a
+     * criteria query on every call.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT i FROM Item i WHERE i.sku = :sku")
+    Optional<Item> findBySku(@Param("sku") String sku);
+    
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
     
     List<Item> findByLocationId(Long locationId);
     
     List<Item> findBySupplierId(Long supplierId);
     
+    long countByLocationId(Long locationId);
+    
+    long countBySupplierId(Long supplierId);
+    
+    boolean existsByLocationId(Long locationId);
+    
+    boolean existsBySupplierId(Long supplierId);
+    
+    /**
+     * Item counts for a page of locations in one grouped query; locations without items have no row.
+     */
+    @Query("SELECT i.location.id AS ownerId, COUNT(i) AS itemCount FROM Item i "
+            + "WHERE i.location.id IN :locationIds GROUP BY i.location.id")
+    List<ItemCount> countByLocationIdIn(@Param("locationIds") Collection<Long> locationIds);
+    
+    @Query("SELECT i.supplier.id AS ownerId, COUNT(i) AS itemCount FROM Item i "
+            + "WHERE i.supplier.id IN :supplierIds GROUP BY i.supplier.id")
+    List<ItemCount> countBySupplierIdIn(@Param("supplierIds") Collection<Long> supplierIds);
+    
     List<Item> findByStatus(Item.ItemStatus status);
     
     @Query("SELECT i FROM Item i WHERE i.quantity < :threshold")
@@ -23,4 +71,93 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     
     @Query("SELECT i FROM Item i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Item> searchByName(@Param("keyword") String keyword);
+    
+    /**
+     * Loads and row-locks a set of items in id order, so that concurrent batches
+     * touching overlapping items always acquire their locks in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.sku IN :skus ORDER BY i.id")
+    List<Item> findAllBySkuInForUpdate(@Param("skus") Collection<String> skus);
+    
+    @Query(ITEM_DTO_SELECT)
+    List<ItemDTO> findAllItemDTOs();
+    
+    @Query(ITEM_DTO_SELECT + " WHERE i.id > :after ORDER BY i.id")
+    List<ItemDTO> findItemDTOsAfter(@Param("after") Long after, Limit limit);
+    
+    /**
+     * Scrolls over all items with a JDBC fetch size instead of materializing the result list.
+     * Must be consumed (and closed) inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ITEM_DTO_SELECT + " ORDER BY i.id")
+    Stream<ItemDTO> streamAllItemDTOs();
+    
+    @Query(ITEM_DTO_SELECT + " WHERE i.updatedAt >= :since ORDER BY i.updatedAt, i.id")
+    List<ItemDTO> findItemDTOsChangedSince(@Param("since") LocalDateTime since, Limit limit);
+    
+    @Query(ITEM_DTO_SELECT + " WHERE i.quantity < :threshold")
+    List<ItemDTO> findLowStockItemDTOs(@Param("threshold") Integer threshold);
+    
+    /**
+     * Items at or below their own reorder point, through the index on the generated
+     * {@code stock_margin} column; items without a reorder point never match.
+     */
+    @Query(ITEM_DTO_SELECT + " WHERE i.stockMargin <= 0 ORDER BY i.stockMargin, i.id")
+    List<ItemDTO> findItemDTOsAtReorderPoint();
+    
+    @Query(ITEM_DTO_SELECT + " WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<ItemDTO> searchItemDTOsByName(@Param("keyword") String keyword);
+    
+    @Query(ITEM_DTO_SELECT + " WHERE i.id IN :ids")
+    List<ItemDTO> findItemDTOsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.inventory.manager.repository.ItemRepository$SearchDocument("
+            + "i.id, i.name, i.sku, i.description) FROM Item i WHERE i.id > :after ORDER BY i.id")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("after") Long after, Limit limit);
+    
+    @Query("SELECT new com.inventory.manager.repository.ItemRepository$ItemVersion("
+            + "i.id, i.updatedAt, l.updatedAt, s.updatedAt) "
+            + "FROM Item i LEFT JOIN i.location l LEFT JOIN i.supplier s WHERE i.id = :id")
+    Optional<ItemVersion> findItemVersion(@Param("id") Long id);
+    
+    interface ItemCount {
+        Long getOwnerId();
+        
+        long getItemCount();
+    }
+    
+    /**
+     * The text fields fed to {@code ItemSearchIndex}.
+     */
+    record SearchDocument(Long id, String name, String sku, String description) {
+    }
+    
+    /**
+     * When an item's DTO last changed: every write to the item, stock updates included, stamps
+     * {@code updatedAt}, and the location and supplier stamp theirs when renamed.
+     */
+    record ItemVersion(Long id, LocalDateTime updatedAt, LocalDateTime locationUpdatedAt,
+                       LocalDateTime supplierUpdatedAt) {
+        
+        /** Strong ETag of the item's DTO. */
+        public String etag() {
+            return "\"item-" + id + "-" + stamp(updatedAt) + "-" + stamp(locationUpdatedAt) + "-"
+                    + stamp(supplierUpdatedAt) + "\"";
+        }
+        
+        private static String stamp(LocalDateTime time) {
+            return time == null ? "0" : Long.toHexString(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L
+                    + time.getNano());
+        }
+    }
 }
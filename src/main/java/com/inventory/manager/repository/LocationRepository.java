@@ -1,10 +1,34 @@
 package com.inventory.manager.repository;
 
 import com.inventory.manager.entity.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface LocationRepository extends JpaRepository<Location, Long> {
-    Optional<Location> findByCode(String code);
+    /** Query-cached when the second-level cache is on ({@code HibernateCacheConfig}); see {@code ItemRepository.findBySku}. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT l FROM Location l WHERE l.code = :code")
+    Optional<Location> findByCode(@Param("code") String code);
+    
+    List<Location> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    List<Location> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(LocalDateTime since, Limit limit);
+    
+    @Query("SELECT l.id AS id, l.code AS code FROM Location l")
+    List<LocationCode> findAllCodes();
+    
+    interface LocationCode {
+        Long getId();
+        
+        String getCode();
+    }
 }
@@ -0,0 +1,83 @@
+package com.inventory.manager.repository;
+
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.entity.ArchivedMovement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MovementArchiveRepository extends JpaRepository<ArchivedMovement, Long> {
+    
+    String MOVEMENT_COLUMNS = "id, item_id, type, quantity, from_location_id, to_location_id, movement_date, "
+            + "notes, performed_by, sequence_no, quantity_after";
+    
+    /**
+     * Same row shape as {@code MovementRepository.MOVEMENT_DTO_SELECT}. The archive keeps no foreign
+     * keys, so names are left {@code null} for items and locations deleted since.
+     */
+    String MOVEMENT_DTO_SELECT = "SELECT new com.inventory.manager.dto.MovementDTO("
+            + "a.id, a.itemId, i.name, a.fromLocationId, f.name, a.toLocationId, t.name, "
+            + "a.quantity, a.type, a.notes, a.movementDate, a.performedBy, a.sequenceNumber, a.quantityAfter) "
+            + "FROM ArchivedMovement a LEFT JOIN Item i ON i.id = a.itemId "
+            + "LEFT JOIN Location f ON f.id = a.fromLocationId LEFT JOIN Location t ON t.id = a.toLocationId";
+    
+    @Query("SELECT COALESCE(MAX(a.sequenceNumber), 0) FROM ArchivedMovement a WHERE a.itemId = :itemId")
+    long findLastSequenceNumber(@Param("itemId") Long itemId);
+    
+    @Query("SELECT a.itemId AS itemId, MAX(a.sequenceNumber) AS sequenceNumber FROM ArchivedMovement a "
+            + "WHERE a.itemId IN :itemIds GROUP BY a.itemId")
+    List<MovementRepository.LastSequenceNumber> findLastSequenceNumbers(@Param("itemIds") Collection<Long> itemIds);
+    
+    @Query(MOVEMENT_DTO_SELECT)
+    List<MovementDTO> findAllMovementDTOs();
+    
+    @Query(MOVEMENT_DTO_SELECT + " WHERE a.id > :after ORDER BY a.id")
+    List<MovementDTO> findMovementDTOsAfter(@Param("after") Long after, Limit limit);
+    
+    @Query(MOVEMENT_DTO_SELECT + " WHERE a.itemId = :itemId ORDER BY a.sequenceNumber")
+    List<MovementDTO> findMovementDTOsByItemId(@Param("itemId") Long itemId);
+    
+    @Query(MOVEMENT_DTO_SELECT + " WHERE a.movementDate BETWEEN :startDate AND :endDate ORDER BY a.movementDate, a.id")
+    List<MovementDTO> findMovementDTOsByDateRange(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Copies the hot movements dated before {@code cutoff} into the archive; followed by
+     * {@link #deleteHotMovementsBefore} in the same transaction. Used where movements is a plain table (H2).
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "movements_archive"))
+    @Query(value = "INSERT INTO movements_archive (" + MOVEMENT_COLUMNS + ") "
+            + "SELECT " + MOVEMENT_COLUMNS + " FROM movements WHERE movement_date < :cutoff",
+            nativeQuery = true)
+    int copyHotMovementsBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "movements"))
+    @Query(value = "DELETE FROM movements WHERE movement_date < :cutoff", nativeQuery = true)
+    int deleteHotMovementsBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Moves the detached monthly partitions that ended before {@code cutoff} into the archive and
+     * drops them (PostgreSQL, see {@code db/postgresql/V16__detach_cold_partitions.sql}).
+     */
+    @Query(value = "SELECT archive_movements_before(:cutoff)", nativeQuery = true)
+    long archivePartitionsBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Creates the monthly partitions from {@code fromMonth} up to {@code monthsAhead} months
+     * from now that do not exist yet (PostgreSQL); returns how many were created.
+     */
+    @Query(value = "SELECT ensure_movement_partitions(:fromMonth, :monthsAhead)", nativeQuery = true)
+    int ensurePartitions(@Param("fromMonth") LocalDate fromMonth, @Param("monthsAhead") int monthsAhead);
+}
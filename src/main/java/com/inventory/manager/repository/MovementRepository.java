@@ -1,17 +1,31 @@
 package com.inventory.manager.repository;
 
+import com.inventory.manager.dto.MovementDTO;
 import com.inventory.manager.entity.Movement;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface MovementRepository extends JpaRepository<Movement, Long> {
     
+    /**
+     * Builds {@link MovementDTO} rows from one statement joining the item and both locations,
+     * instead of resolving three lazy associations per movement.
+     */
+    String MOVEMENT_DTO_SELECT = "SELECT new com.inventory.manager.dto.MovementDTO("
+            + "m.id, i.id, i.name, f.id, f.name, t.id, t.name, "
+            + "m.quantity, m.type, m.notes, m.movementDate, m.performedBy, m.sequenceNumber, m.quantityAfter) "
+            + "FROM Movement m JOIN m.item i LEFT JOIN m.fromLocation f JOIN m.toLocation t";
+    
     List<Movement> findByItemId(Long itemId);
     
+    List<Movement> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
     List<Movement> findByFromLocationId(Long locationId);
     
     List<Movement> findByToLocationId(Long locationId);
@@ -19,4 +33,37 @@ public interface MovementRepository extends JpaRepository<Movement, Long> {
     @Query("SELECT m FROM Movement m WHERE m.movementDate BETWEEN :startDate AND :endDate")
     List<Movement> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                    @Param("endDate") LocalDateTime endDate);
+    
+    @Query(MOVEMENT_DTO_SELECT)
+    List<MovementDTO> findAllMovementDTOs();
+    
+    /**
+     * Last ledger sequence number of an item, 0 before its first movement. Only meaningful while
+     * the caller holds the item row lock.
+     */
+    @Query("SELECT COALESCE(MAX(m.sequenceNumber), 0) FROM Movement m WHERE m.item.id = :itemId")
+    long findLastSequenceNumber(@Param("itemId") Long itemId);
+    
+    @Query("SELECT m.item.id AS itemId, MAX(m.sequenceNumber) AS sequenceNumber FROM Movement m "
+            + "WHERE m.item.id IN :itemIds GROUP BY m.item.id")
+    List<LastSequenceNumber> findLastSequenceNumbers(@Param("itemIds") Collection<Long> itemIds);
+    
+    @Query(MOVEMENT_DTO_SELECT + " WHERE m.id > :after ORDER BY m.id")
+    List<MovementDTO> findMovementDTOsAfter(@Param("after") Long after, Limit limit);
+    
+    @Query(MOVEMENT_DTO_SELECT + " WHERE i.id = :itemId ORDER BY m.sequenceNumber")
+    List<MovementDTO> findMovementDTOsByItemId(@Param("itemId") Long itemId);
+    
+    @Query(MOVEMENT_DTO_SELECT + " WHERE m.movementDate >= :since ORDER BY m.movementDate, m.id")
+    List<MovementDTO> findMovementDTOsChangedSince(@Param("since") LocalDateTime since, Limit limit);
+    
+    @Query(MOVEMENT_DTO_SELECT + " WHERE m.movementDate BETWEEN :startDate AND :endDate ORDER BY m.movementDate, m.id")
+    List<MovementDTO> findMovementDTOsByDateRange(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
+    
+    interface LastSequenceNumber {
+        Long getItemId();
+        
+        long getSequenceNumber();
+    }
 }
@@ -0,0 +1,118 @@
+package com.inventory.manager.repository;
+
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.MovementRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MovementRollupRepository extends JpaRepository<MovementRollup, Long> {
+    
+    String ROW_SUMS = "SUM(r.movementCount) AS movementCount, SUM(r.totalQuantity) AS totalQuantity "
+            + "FROM MovementRollup r ";
+    
+    String LEDGER = "(SELECT movement_date, item_id, to_location_id, type, quantity FROM movements "
+            + "UNION ALL SELECT movement_date, item_id, to_location_id, type, quantity FROM movements_archive) m ";
+    
+    String RANGE = "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to "
+            + "AND (:itemId IS NULL OR r.itemId = :itemId) "
+            + "AND (:locationId IS NULL OR r.locationId = :locationId) ";
+    
+    @Query("SELECT r.bucketStart AS bucketStart, " + ROW_SUMS + RANGE
+            + "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<TimeseriesRow> findTotals(@Param("granularity") MovementRollup.Granularity granularity,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("itemId") Long itemId,
+                                   @Param("locationId") Long locationId);
+    
+    @Query("SELECT r.bucketStart AS bucketStart, r.itemId AS itemId, " + ROW_SUMS + RANGE
+            + "GROUP BY r.bucketStart, r.itemId ORDER BY r.bucketStart, r.itemId")
+    List<TimeseriesRow> findTotalsByItem(@Param("granularity") MovementRollup.Granularity granularity,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("itemId") Long itemId,
+                                         @Param("locationId") Long locationId);
+    
+    @Query("SELECT r.bucketStart AS bucketStart, r.locationId AS locationId, " + ROW_SUMS + RANGE
+            + "GROUP BY r.bucketStart, r.locationId ORDER BY r.bucketStart, r.locationId")
+    List<TimeseriesRow> findTotalsByLocation(@Param("granularity") MovementRollup.Granularity granularity,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("itemId") Long itemId,
+                                             @Param("locationId") Long locationId);
+    
+    @Query("SELECT r.bucketStart AS bucketStart, r.type AS type, " + ROW_SUMS + RANGE
+            + "GROUP BY r.bucketStart, r.type ORDER BY r.bucketStart, r.type")
+    List<TimeseriesRow> findTotalsByType(@Param("granularity") MovementRollup.Granularity granularity,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("itemId") Long itemId,
+                                         @Param("locationId") Long locationId);
+    
+    /**
+     * Adds a delta to the hour row and the day row of one item, location and type, creating them
+     * on first use. Like {@link StockSummaryRepository#addDelta}, the increment is relative.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "movement_rollups"))
+    @Query(value = "MERGE INTO movement_rollups r "
+            + "USING (SELECT CAST('HOUR' AS VARCHAR(10)) AS granularity, CAST(:hour AS TIMESTAMP) AS bucket_start "
+            + "UNION ALL SELECT CAST('DAY' AS VARCHAR(10)), CAST(:day AS TIMESTAMP)) v "
+            + "ON r.granularity = v.granularity AND r.bucket_start = v.bucket_start "
+            + "AND r.item_id = :itemId AND r.location_id = :locationId AND r.type = :type "
+            + "WHEN MATCHED THEN UPDATE SET movement_count = r.movement_count + :movementCount, "
+            + "total_quantity = r.total_quantity + :quantity "
+            + "WHEN NOT MATCHED THEN INSERT (granularity, bucket_start, item_id, location_id, type, movement_count, total_quantity) "
+            + "VALUES (v.granularity, v.bucket_start, :itemId, :locationId, :type, :movementCount, :quantity)",
+            nativeQuery = true)
+    int addDelta(@Param("hour") LocalDateTime hour,
+                 @Param("day") LocalDateTime day,
+                 @Param("itemId") Long itemId,
+                 @Param("locationId") Long locationId,
+                 @Param("type") String type,
+                 @Param("movementCount") long movementCount,
+                 @Param("quantity") long quantity);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "movement_rollups"))
+    @Query(value = "DELETE FROM movement_rollups", nativeQuery = true)
+    void deleteAllRows();
+    
+    /**
+     * Rollup rows for the whole ledger, hot and archived: the archive keeps its months in the
+     * rollups across a rebuild.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "movement_rollups"))
+    @Query(value = "INSERT INTO movement_rollups "
+            + "(granularity, bucket_start, item_id, location_id, type, movement_count, total_quantity) "
+            + "SELECT 'HOUR', DATE_TRUNC('HOUR', movement_date), item_id, to_location_id, type, COUNT(*), SUM(quantity) "
+            + "FROM " + LEDGER + "GROUP BY DATE_TRUNC('HOUR', movement_date), item_id, to_location_id, type "
+            + "UNION ALL "
+            + "SELECT 'DAY', DATE_TRUNC('DAY', movement_date), item_id, to_location_id, type, COUNT(*), SUM(quantity) "
+            + "FROM " + LEDGER + "GROUP BY DATE_TRUNC('DAY', movement_date), item_id, to_location_id, type",
+            nativeQuery = true)
+    int insertFromMovements();
+    
+    interface TimeseriesRow {
+        LocalDateTime getBucketStart();
+        
+        Long getItemId();
+        
+        Long getLocationId();
+        
+        Movement.MovementType getType();
+        
+        Long getMovementCount();
+        
+        Long getTotalQuantity();
+    }
+}
@@ -0,0 +1,122 @@
+package com.inventory.manager.repository;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.entity.StockLevel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface StockLevelRepository extends JpaRepository<StockLevel, StockLevel.Key> {
+    
+    /**
+     * {@link ItemDTO} rows of the items held at one location, with the quantity held there.
+     * Driven by the {@code (location_id, item_id)} index, so the cost follows the size of the location.
+     */
+    String LOCATION_ITEM_DTO_SELECT = "SELECT new com.inventory.manager.dto.ItemDTO("
+            + "i.id, i.name, i.description, i.sku, sl.quantity, i.reorderPoint, i.unitPrice, "
+            + "l.id, l.name, s.id, s.name, i.status, i.createdAt, i.updatedAt) "
+            + "FROM StockLevel sl JOIN Item i ON i.id = sl.itemId JOIN Location l ON l.id = sl.locationId "
+            + "LEFT JOIN i.supplier s "
+            + "WHERE sl.locationId = :locationId AND sl.quantity > 0 ORDER BY i.id";
+    
+    List<StockLevel> findByItemIdIn(Collection<Long> itemIds);
+    
+    boolean existsByLocationIdAndQuantityGreaterThan(Long locationId, Integer quantity);
+    
+    /**
+     * Positive quantities the given items hold per location, for the stock aggregates.
+     */
+    @Query("SELECT new com.inventory.manager.repository.StockLevelRepository$HeldQuantity("
+            + "sl.itemId, sl.locationId, sl.quantity) FROM StockLevel sl "
+            + "WHERE sl.itemId IN :itemIds AND sl.quantity > 0")
+    List<HeldQuantity> findHeldQuantities(@Param("itemIds") Collection<Long> itemIds);
+    
+    @Query("SELECT sl.quantity FROM StockLevel sl WHERE sl.itemId = :itemId AND sl.locationId = :locationId")
+    Optional<Integer> findQuantity(@Param("itemId") Long itemId, @Param("locationId") Long locationId);
+    
+    /**
+     * Takes stock out of one location; matches no row (returns 0) when the location holds less.
+     */
+    @Modifying
+    @Query("UPDATE StockLevel sl SET sl.quantity = sl.quantity - :quantity "
+            + "WHERE sl.itemId = :itemId AND sl.locationId = :locationId AND sl.quantity >= :quantity")
+    int takeQuantity(@Param("itemId") Long itemId, @Param("locationId") Long locationId,
+                     @Param("quantity") Integer quantity);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_levels"))
+    @Query(value = "MERGE INTO stock_levels s "
+            + "USING (SELECT CAST(:itemId AS BIGINT) AS item_id, CAST(:locationId AS BIGINT) AS location_id) v "
+            + "ON s.item_id = v.item_id AND s.location_id = v.location_id "
+            + "WHEN MATCHED THEN UPDATE SET quantity = s.quantity + :quantity "
+            + "WHEN NOT MATCHED THEN INSERT (item_id, location_id, quantity) VALUES (v.item_id, v.location_id, :quantity)",
+            nativeQuery = true)
+    int addQuantity(@Param("itemId") Long itemId, @Param("locationId") Long locationId,
+                    @Param("quantity") Integer quantity);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_levels"))
+    @Query(value = "MERGE INTO stock_levels s "
+            + "USING (SELECT CAST(:itemId AS BIGINT) AS item_id, CAST(:locationId AS BIGINT) AS location_id) v "
+            + "ON s.item_id = v.item_id AND s.location_id = v.location_id "
+            + "WHEN MATCHED THEN UPDATE SET quantity = :quantity "
+            + "WHEN NOT MATCHED THEN INSERT (item_id, location_id, quantity) VALUES (v.item_id, v.location_id, :quantity)",
+            nativeQuery = true)
+    int setQuantity(@Param("itemId") Long itemId, @Param("locationId") Long locationId,
+                    @Param("quantity") Integer quantity);
+    
+    /**
+     * Moves everything an item holds at one location to another, for a home location changed
+     * through the catalog.
+     */
+    default void relocate(Long itemId, Long fromLocationId, Long toLocationId) {
+        int held = findQuantity(itemId, fromLocationId).orElse(0);
+        if (held > 0) {
+            takeQuantity(itemId, fromLocationId, held);
+            addQuantity(itemId, toLocationId, held);
+        }
+    }
+    
+    /**
+     * Brings the home location of each item in line with a quantity set through the catalog (item
+     * API, import): the home location holds whatever part of the total is not held elsewhere. Fails
+     * on the {@code quantity >= 0} check when other locations already hold more than the new total.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_levels"))
+    @Query(value = "MERGE INTO stock_levels s "
+            + "USING (SELECT i.id AS item_id, i.location_id AS location_id, i.quantity - COALESCE("
+            + "(SELECT SUM(o.quantity) FROM stock_levels o WHERE o.item_id = i.id AND o.location_id <> i.location_id), 0) "
+            + "AS quantity FROM items i WHERE i.id IN (:itemIds) AND i.location_id IS NOT NULL) v "
+            + "ON s.item_id = v.item_id AND s.location_id = v.location_id "
+            + "WHEN MATCHED THEN UPDATE SET quantity = v.quantity "
+            + "WHEN NOT MATCHED THEN INSERT (item_id, location_id, quantity) VALUES (v.item_id, v.location_id, v.quantity)",
+            nativeQuery = true)
+    int reconcileHomeLocations(@Param("itemIds") Collection<Long> itemIds);
+    
+    @Query(LOCATION_ITEM_DTO_SELECT)
+    List<ItemDTO> findItemDTOsByLocationId(@Param("locationId") Long locationId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LOCATION_ITEM_DTO_SELECT)
+    Stream<ItemDTO> streamItemDTOsByLocationId(@Param("locationId") Long locationId);
+    
+    /**
+     * Quantity one item holds at one location.
+     */
+    record HeldQuantity(Long itemId, Long locationId, Integer quantity) {
+        
+        public static HeldQuantity of(StockLevel level) {
+            return new HeldQuantity(level.getItemId(), level.getLocationId(), level.getQuantity());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.inventory.manager.repository;
+
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.StockSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+    
+    Optional<StockSnapshot> findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(LocalDateTime asOf);
+    
+    boolean existsByTakenAtGreaterThanEqual(LocalDateTime since);
+    
+    /**
+     * Copies every item into the snapshot together with its last ledger sequence number. One
+     * statement reads both, so the quantity and the sequence number always match.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_snapshot_items"))
+    @Query(value = "INSERT INTO stock_snapshot_items (snapshot_id, item_id, location_id, quantity, sequence_no) "
+            + "SELECT :snapshotId, i.id, i.location_id, i.quantity, "
+            + "COALESCE((SELECT MAX(m.sequence_no) FROM movements m WHERE m.item_id = i.id), 0) "
+            + "FROM items i",
+            nativeQuery = true)
+    int insertItems(@Param("snapshotId") Long snapshotId);
+    
+    /**
+     * Copies the stock held at each location into the snapshot, with the item's last ledger
+     * sequence number read by the same statement. Runs after {@link #insertItems}, so a movement
+     * committed in between is in these rows, under a higher sequence number than the item row's.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_snapshot_levels"))
+    @Query(value = "INSERT INTO stock_snapshot_levels (snapshot_id, item_id, location_id, quantity, sequence_no) "
+            + "SELECT :snapshotId, sl.item_id, sl.location_id, sl.quantity, "
+            + "COALESCE((SELECT MAX(m.sequence_no) FROM movements m WHERE m.item_id = sl.item_id), 0) "
+            + "FROM stock_levels sl WHERE sl.quantity > 0",
+            nativeQuery = true)
+    int insertLevels(@Param("snapshotId") Long snapshotId);
+    
+    /** Snapshot items go with their snapshot ({@code ON DELETE CASCADE}). */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_snapshots"))
+    @Query(value = "DELETE FROM stock_snapshots WHERE taken_at < :cutoff", nativeQuery = true)
+    int deleteTakenBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Query("SELECT new com.inventory.manager.repository.StockSnapshotRepository$LedgerStock("
+            + "s.itemId, s.locationId, s.quantity) FROM StockSnapshotItem s WHERE s.snapshotId = :snapshotId")
+    List<LedgerStock> findSnapshotItems(@Param("snapshotId") Long snapshotId);
+    
+    @Query("SELECT new com.inventory.manager.repository.StockSnapshotRepository$LevelStock("
+            + "s.itemId, s.locationId, s.quantity, s.sequenceNumber) FROM StockSnapshotLevel s "
+            + "WHERE s.snapshotId = :snapshotId")
+    List<LevelStock> findSnapshotLevels(@Param("snapshotId") Long snapshotId);
+    
+    /**
+     * Ledger entries after the snapshot up to {@code asOf}, in ledger order. Each item is reached
+     * through the {@code (item_id, sequence_no)} index, so the cost follows the number of items and
+     * the length of the tail, not the length of the whole history.
+     */
+    @Query("SELECT new com.inventory.manager.repository.StockSnapshotRepository$LedgerStock("
+            + "i.id, i.location.id, m.quantityAfter) FROM Item i "
+            + "LEFT JOIN StockSnapshotItem s ON s.snapshotId = :snapshotId AND s.itemId = i.id "
+            + "JOIN Movement m ON m.item = i AND m.sequenceNumber > COALESCE(s.sequenceNumber, 0) "
+            + "AND m.movementDate <= :asOf "
+            + "ORDER BY i.id, m.sequenceNumber")
+    List<LedgerStock> findLedgerTail(@Param("snapshotId") Long snapshotId, @Param("asOf") LocalDateTime asOf);
+    
+    /**
+     * The same ledger tail as {@link #findLedgerTail}, with what each movement did to the stock
+     * held per location.
+     */
+    @Query("SELECT new com.inventory.manager.repository.StockSnapshotRepository$LedgerMovement("
+            + "i.id, m.sequenceNumber, m.type, m.quantity, f.id, m.toLocation.id) FROM Item i "
+            + "LEFT JOIN StockSnapshotItem s ON s.snapshotId = :snapshotId AND s.itemId = i.id "
+            + "JOIN Movement m ON m.item = i AND m.sequenceNumber > COALESCE(s.sequenceNumber, 0) "
+            + "AND m.movementDate <= :asOf "
+            + "LEFT JOIN m.fromLocation f "
+            + "ORDER BY i.id, m.sequenceNumber")
+    List<LedgerMovement> findLocationLedgerTail(@Param("snapshotId") Long snapshotId,
+                                                @Param("asOf") LocalDateTime asOf);
+    
+    /**
+     * Quantity and location of one item, from a snapshot row or a ledger entry.
+     */
+    record LedgerStock(Long itemId, Long locationId, Integer quantity) {
+    }
+    
+    /**
+     * Quantity one item held at one location in a snapshot, as of ledger entry {@code sequenceNumber}.
+     */
+    record LevelStock(Long itemId, Long locationId, Integer quantity, Long sequenceNumber) {
+    }
+    
+    /**
+     * One ledger entry; {@code fromLocationId} is {@code null} on entries written before the
+     * source of every transfer and shipment was recorded.
+     */
+    record LedgerMovement(Long itemId, Long sequenceNumber, Movement.MovementType type, Integer quantity,
+                          Long fromLocationId, Long toLocationId) {
+    }
+}
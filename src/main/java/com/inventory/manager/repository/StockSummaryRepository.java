@@ -0,0 +1,96 @@
+package com.inventory.manager.repository;
+
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.StockSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface StockSummaryRepository extends JpaRepository<StockSummary, Long> {
+    
+    String ROW_SELECT = "SELECT s.dimensionId AS dimensionId, d.name AS name, s.status AS status, "
+            + "s.itemCount AS itemCount, s.totalQuantity AS totalQuantity, s.totalValue AS totalValue "
+            + "FROM StockSummary s ";
+    
+    @Query(ROW_SELECT + "LEFT JOIN Location d ON d.id = s.dimensionId "
+            + "WHERE s.dimension = com.inventory.manager.entity.StockSummary$Dimension.LOCATION "
+            + "AND s.itemCount > 0 ORDER BY s.dimensionId, s.status")
+    List<SummaryRow> findLocationRows();
+    
+    @Query(ROW_SELECT + "LEFT JOIN Location d ON d.id = s.dimensionId "
+            + "WHERE s.dimension = com.inventory.manager.entity.StockSummary$Dimension.LOCATION "
+            + "AND s.dimensionId = :locationId AND s.itemCount > 0 ORDER BY s.status")
+    List<SummaryRow> findLocationRows(@Param("locationId") Long locationId);
+    
+    @Query(ROW_SELECT + "LEFT JOIN Supplier d ON d.id = s.dimensionId "
+            + "WHERE s.dimension = com.inventory.manager.entity.StockSummary$Dimension.SUPPLIER "
+            + "AND s.itemCount > 0 ORDER BY s.dimensionId, s.status")
+    List<SummaryRow> findSupplierRows();
+    
+    /**
+     * Adds a delta to one aggregate row, creating it on first use. The increment is relative,
+     * so concurrent transactions touching the same row serialize on its lock without lost updates.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_summaries"))
+    @Query(value = "MERGE INTO stock_summaries s "
+            + "USING (SELECT CAST(:dimension AS VARCHAR(20)) AS dimension, CAST(:dimensionId AS BIGINT) AS dimension_id, "
+            + "CAST(:status AS VARCHAR(20)) AS status) v "
+            + "ON s.dimension = v.dimension AND s.dimension_id = v.dimension_id AND s.status = v.status "
+            + "WHEN MATCHED THEN UPDATE SET item_count = s.item_count + :itemCount, "
+            + "total_quantity = s.total_quantity + :quantity, total_value = s.total_value + :value "
+            + "WHEN NOT MATCHED THEN INSERT (dimension, dimension_id, status, item_count, total_quantity, total_value) "
+            + "VALUES (v.dimension, v.dimension_id, v.status, :itemCount, :quantity, :value)",
+            nativeQuery = true)
+    int addDelta(@Param("dimension") String dimension,
+                 @Param("dimensionId") Long dimensionId,
+                 @Param("status") String status,
+                 @Param("itemCount") long itemCount,
+                 @Param("quantity") long quantity,
+                 @Param("value") BigDecimal value);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_summaries"))
+    @Query(value = "DELETE FROM stock_summaries", nativeQuery = true)
+    void deleteAllRows();
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_summaries"))
+    @Query(value = "INSERT INTO stock_summaries "
+            + "(dimension, dimension_id, status, item_count, total_quantity, total_value) "
+            + "SELECT 'LOCATION', sl.location_id, i.status, COUNT(*), SUM(sl.quantity), "
+            + "SUM(sl.quantity * i.unit_price) "
+            + "FROM stock_levels sl JOIN items i ON i.id = sl.item_id WHERE sl.quantity > 0 "
+            + "GROUP BY sl.location_id, i.status "
+            + "UNION ALL "
+            + "SELECT 'LOCATION', 0, status, COUNT(*), SUM(unheld), SUM(unheld * unit_price) "
+            + "FROM (SELECT i.status, i.unit_price, i.quantity - COALESCE("
+            + "(SELECT SUM(sl.quantity) FROM stock_levels sl WHERE sl.item_id = i.id), 0) AS unheld FROM items i) u "
+            + "WHERE unheld > 0 GROUP BY status "
+            + "UNION ALL "
+            + "SELECT 'SUPPLIER', COALESCE(supplier_id, 0), status, COUNT(*), SUM(quantity), SUM(quantity * unit_price) "
+            + "FROM items GROUP BY COALESCE(supplier_id, 0), status",
+            nativeQuery = true)
+    int insertFromItems();
+    
+    interface SummaryRow {
+        Long getDimensionId();
+        
+        String getName();
+        
+        Item.ItemStatus getStatus();
+        
+        Long getItemCount();
+        
+        Long getTotalQuantity();
+        
+        BigDecimal getTotalValue();
+    }
+}
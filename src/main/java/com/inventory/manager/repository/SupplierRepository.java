@@ -1,7 +1,19 @@
 package com.inventory.manager.repository;
 
 import com.inventory.manager.entity.Supplier;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+    
+    List<Supplier> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    List<Supplier> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(LocalDateTime since, Limit limit);
+    
+    @Query("SELECT s.id FROM Supplier s")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,30 @@
+package com.inventory.manager.repository;
+
+import com.inventory.manager.entity.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    
+    /**
+     * Deletions since the given time, answered from the {@code (entity_type, deleted_at, entity_id)} index.
+     */
+    @Query("SELECT new com.inventory.manager.repository.TombstoneRepository$Deletion(t.entityId, t.deletedAt) "
+            + "FROM Tombstone t WHERE t.entityType = :entityType AND t.deletedAt >= :since "
+            + "ORDER BY t.deletedAt, t.entityId")
+    List<Deletion> findDeletionsSince(@Param("entityType") Tombstone.EntityType entityType,
+                                      @Param("since") LocalDateTime since, Limit limit);
+    
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    record Deletion(Long entityId, LocalDateTime deletedAt) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventory.manager.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects on in-process state (caches, indexes) until the surrounding transaction
+ * commits, so rolled back writes never leak out of the database.
+ */
+final class AfterCommit {
+    
+    private AfterCommit() {
+    }
+    
+    /**
+     * Runs the action after commit, or right away when no transaction is active.
+     */
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
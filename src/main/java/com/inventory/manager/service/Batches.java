@@ -0,0 +1,24 @@
+package com.inventory.manager.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splitting of bulk work into chunks that fit a single {@code IN (...)} list or JDBC batch.
+ */
+final class Batches {
+    
+    /** Upper bound for {@code IN (...)} lists, well below PostgreSQL's bind parameter limit. */
+    static final int IN_CLAUSE_SIZE = 1000;
+    
+    private Batches() {
+    }
+    
+    static <T> List<List<T>> partition(List<T> values, int size) {
+        List<List<T>> chunks = new ArrayList<>((values.size() + size - 1) / size);
+        for (int from = 0; from < values.size(); from += size) {
+            chunks.add(values.subList(from, Math.min(from + size, values.size())));
+        }
+        return chunks;
+    }
+}
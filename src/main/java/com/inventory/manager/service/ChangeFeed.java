@@ -0,0 +1,107 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ChangeEventDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory feed of committed writes to items, movements, locations and suppliers, so clients
+ * can follow changes instead of re-polling the list endpoints.
+ *
+ * <p>Writers record changes inside their transaction; the change is appended after commit, when it
+ * gets the next offset, so offsets follow commit order and rolled back writes never appear. The
+ * last {@code inventory.changes.retained-events} changes are kept for subscribers resuming from an
+ * offset. The feed lives in this process only: offsets restart with the application, and a
+ * subscriber whose offset is no longer retained (or from before a restart) is told it missed
+ * changes and must reload what it follows.
+ */
+@Service
+public class ChangeFeed {
+    
+    private final int retainedEvents;
+    private final ResourceVersions resourceVersions;
+    private final Deque<ChangeEventDTO> retained;
+    private final Set<Consumer<ChangeEventDTO>> listeners = new CopyOnWriteArraySet<>();
+    private long lastOffset;
+    
+    public ChangeFeed(@Value("${inventory.changes.retained-events:10000}") int retainedEvents,
+                      ResourceVersions resourceVersions) {
+        this.retainedEvents = retainedEvents;
+        this.resourceVersions = resourceVersions;
+        this.retained = new ArrayDeque<>(retainedEvents);
+    }
+    
+    /**
+     * A live subscription. {@code backlog} holds the retained changes after the requested offset,
+     * to be delivered before anything the listener receives. When the feed no longer holds
+     * everything after that offset, {@code missedChanges} is set and the backlog is empty: the
+     * subscriber reloads what it follows and continues with live changes.
+     */
+    public record Subscription(List<ChangeEventDTO> backlog, boolean missedChanges, long lastOffset,
+                               Runnable cancel) {
+    }
+    
+    /**
+     * Records a change of one row, appended after commit. {@code data} is resolved then as well,
+     * once generated columns such as creation timestamps have been written. Also bumps the
+     * entity's version in {@link ResourceVersions}.
+     */
+    public void recordChange(ChangeEventDTO.EntityType entity, ChangeEventDTO.ChangeType type, Long id,
+                             Supplier<?> data) {
+        resourceVersions.recordChange(entity);
+        AfterCommit.run(() -> append(entity, type, id, data != null ? data.get() : null));
+    }
+    
+    /**
+     * Registers a listener for changes appended from now on; the listener runs on the committing
+     * thread and must not block.
+     *
+     * @param afterOffset the last offset the subscriber has seen, or {@code null} for live changes only
+     */
+    public synchronized Subscription subscribe(Long afterOffset, Consumer<ChangeEventDTO> listener) {
+        List<ChangeEventDTO> backlog = new ArrayList<>();
+        boolean missedChanges = false;
+        if (afterOffset != null) {
+            long oldestRetained = retained.isEmpty() ? lastOffset + 1 : retained.peekFirst().getOffset();
+            missedChanges = afterOffset < oldestRetained - 1 || afterOffset > lastOffset;
+            if (!missedChanges) {
+                // retained offsets are consecutive, so the backlog is a suffix of the deque
+                retained.stream()
+                        .skip(afterOffset - oldestRetained + 1)
+                        .forEach(backlog::add);
+            }
+        }
+        listeners.add(listener);
+        return new Subscription(backlog, missedChanges, lastOffset, () -> listeners.remove(listener));
+    }
+    
+    public synchronized long lastOffset() {
+        return lastOffset;
+    }
+    
+    synchronized void append(ChangeEventDTO.EntityType entity, ChangeEventDTO.ChangeType type, Long id, Object data) {
+        ChangeEventDTO event = ChangeEventDTO.builder()
+                .offset(++lastOffset)
+                .entity(entity)
+                .type(type)
+                .id(id)
+                .data(data)
+                .occurredAt(LocalDateTime.now())
+                .build();
+        if (retained.size() == retainedEvents) {
+            retained.removeFirst();
+        }
+        retained.addLast(event);
+        listeners.forEach(listener -> listener.accept(event));
+    }
+}
@@ -0,0 +1,141 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.SyncDeltaDTO;
+import com.inventory.manager.entity.Tombstone;
+import com.inventory.manager.repository.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Incremental sync over the {@code updated_at} indexes: a client sends the {@code changedUntil}
+ * of its previous sync as {@code changedSince} and gets the rows changed since then plus the ids
+ * deleted since then.
+ *
+ * <p>Row timestamps are taken when a row is written, not when its transaction commits, so
+ * {@code changedUntil} trails the clock by {@code inventory.sync.commit-lag}: a write that commits
+ * up to that long after its timestamp is still picked up by the next sync. Rows changed within
+ * the lag come again next time and must be applied idempotently. All timestamps and the cursor
+ * come from the application clock.
+ *
+ * <p>A response holds at most {@code inventory.sync.max-changes} rows and as many deletions. A
+ * longer delta is cut before the first timestamp that does not fit, so rows sharing a timestamp
+ * are never split across responses; {@code hasMore} tells the client to sync again right away.
+ *
+ * <p>Tombstones are kept for {@code inventory.sync.tombstone-retention}; older cursors are
+ * rejected, and the client reloads the full list.
+ */
+@Service
+@Transactional
+public class DeltaSyncService {
+    
+    private final TombstoneRepository tombstoneRepository;
+    private final Duration commitLag;
+    private final Duration tombstoneRetention;
+    private final int maxChanges;
+    
+    public DeltaSyncService(TombstoneRepository tombstoneRepository,
+                            @Value("${inventory.sync.commit-lag:PT5S}") Duration commitLag,
+                            @Value("${inventory.sync.tombstone-retention:P30D}") Duration tombstoneRetention,
+                            @Value("${inventory.sync.max-changes:1000}") int maxChanges) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.commitLag = commitLag;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxChanges = maxChanges;
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Tombstone.EntityType entityType, Long id) {
+        tombstoneRepository.save(Tombstone.builder().entityType(entityType).entityId(id).build());
+    }
+    
+    /**
+     * Rows changed since {@code since} (through {@code changedRows}, ordered by {@code changedAt})
+     * and the ids of {@code entityType} deleted since then.
+     */
+    @Transactional(readOnly = true)
+    public <T> SyncDeltaDTO<T> changesSince(Tombstone.EntityType entityType, LocalDateTime since,
+                                            BiFunction<LocalDateTime, Limit, List<T>> changedRows,
+                                            Function<T, LocalDateTime> changedAt) {
+        LocalDateTime now = LocalDateTime.now();
+        if (since.isBefore(now.minus(tombstoneRetention))) {
+            throw new RuntimeException("changedSince is older than the tombstone retention of "
+                    + tombstoneRetention + "; reload the full list");
+        }
+        return delta(since, now, changedRows, changedAt,
+                (deletedSince, limit) -> tombstoneRepository.findDeletionsSince(entityType, deletedSince, limit));
+    }
+    
+    /**
+     * Same for rows that are never deleted (movements); any cursor is accepted.
+     */
+    @Transactional(readOnly = true)
+    public <T> SyncDeltaDTO<T> changesSince(LocalDateTime since, BiFunction<LocalDateTime, Limit, List<T>> changedRows,
+                                            Function<T, LocalDateTime> changedAt) {
+        return delta(since, LocalDateTime.now(), changedRows, changedAt, (deletedSince, limit) -> List.of());
+    }
+    
+    @Scheduled(fixedDelayString = "${inventory.sync.tombstone-purge-interval:PT24H}")
+    public void purgeTombstones() {
+        tombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+    }
+    
+    private <T> SyncDeltaDTO<T> delta(LocalDateTime since, LocalDateTime now,
+                                      BiFunction<LocalDateTime, Limit, List<T>> changedRows,
+                                      Function<T, LocalDateTime> changedAt,
+                                      BiFunction<LocalDateTime, Limit, List<TombstoneRepository.Deletion>> deletions) {
+        // one row past the limit shows whether, and where, the delta has to be cut
+        List<T> changed = changedRows.apply(since, Limit.of(maxChanges + 1));
+        List<TombstoneRepository.Deletion> deleted = deletions.apply(since, Limit.of(maxChanges + 1));
+        LocalDateTime cut = earliest(firstCutOff(changed, changedAt), firstCutOff(deleted,
+                TombstoneRepository.Deletion::deletedAt));
+        if (since.equals(cut)) {
+            // more than max-changes rows share the cursor's timestamp: only all of them move the cursor on
+            changed = changedRows.apply(since, Limit.unlimited());
+            deleted = deletions.apply(since, Limit.unlimited());
+            cut = null;
+        }
+        
+        LocalDateTime changedUntil = now.minus(commitLag);
+        if (cut != null) {
+            changed = before(changed, changedAt, cut);
+            deleted = before(deleted, TombstoneRepository.Deletion::deletedAt, cut);
+            changedUntil = earliest(changedUntil, cut);
+        }
+        // never move a cursor backwards, even when polled more often than the lag
+        changedUntil = changedUntil.isAfter(since) ? changedUntil : since;
+        return SyncDeltaDTO.<T>builder()
+                .changed(changed)
+                .deleted(deleted.stream().map(TombstoneRepository.Deletion::entityId).toList())
+                .changedUntil(changedUntil)
+                .hasMore(cut != null && changedUntil.isAfter(since))
+                .build();
+    }
+    
+    /** Timestamp of the first row past the limit, or {@code null} when every row fits. */
+    private <T> LocalDateTime firstCutOff(List<T> rows, Function<T, LocalDateTime> changedAt) {
+        return rows.size() > maxChanges ? changedAt.apply(rows.get(maxChanges)) : null;
+    }
+    
+    private static <T> List<T> before(List<T> rows, Function<T, LocalDateTime> changedAt, LocalDateTime cut) {
+        return rows.stream()
+                .filter(row -> changedAt.apply(row).isBefore(cut))
+                .toList();
+    }
+    
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,461 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ChangeEventDTO;
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.ItemImportResultDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Supplier;
+import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import com.inventory.manager.repository.SupplierRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of the item catalog from CSV or .xlsx.
+ *
+ * <p>Both formats are parsed as a stream of rows (Commons CSV for CSV, the POI SAX event model
+ * for .xlsx), so the file is never held in memory as a whole. Rows are validated and upserted by
+ * SKU in chunks of {@value #CHUNK_SIZE}: one {@code IN} lookup per chunk, JDBC-batched writes and
+ * one transaction per chunk, after which the persistence context is cleared.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("sku", "name", "quantity", "unitprice");
+    private static final Map<String, String> COLUMN_ALIASES = Map.of("itemname", "name");
+
+    private final ItemRepository itemRepository;
+    private final LocationRepository locationRepository;
+    private final SupplierRepository supplierRepository;
+    private final StockSummaryService stockSummaryService;
+    private final StockLevelRepository stockLevelRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final LowStockAlertService lowStockAlerts;
+    private final ChangeFeed changeFeed;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+
+    @Timed(value = "inventory.items.import", description = "Item catalog import", histogram = true)
+    public ItemImportResultDTO importItems(InputStream inputStream, String filename) throws IOException {
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        long startedAt = System.nanoTime();
+
+        ImportRun run = new ImportRun();
+        if (name.endsWith(".csv")) {
+            readCsv(inputStream, run);
+        } else if (name.endsWith(".xlsx")) {
+            readXlsx(inputStream, run);
+        } else {
+            throw new RuntimeException("Unsupported import format: expected a .csv or .xlsx file");
+        }
+        run.flush();
+
+        long durationMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        return ItemImportResultDTO.builder()
+                .totalRows(run.totalRows)
+                .inserted(run.inserted)
+                .updated(run.updated)
+                .failed(run.failed)
+                .durationMs(durationMs)
+                .rowsPerSecond(run.totalRows * 1000.0 / durationMs)
+                .errorsTruncated(run.failed > run.errors.size())
+                .errors(run.errors)
+                .build();
+    }
+
+    private void readCsv(InputStream inputStream, ImportRun run) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+             CSVParser parser = format.parse(reader)) {
+            Map<Integer, String> columns = new HashMap<>();
+            parser.getHeaderMap().forEach((header, index) -> columns.put(index, canonicalColumn(header)));
+            run.start(columns.values());
+
+            long rowNumber = 1;
+            for (CSVRecord record : parser) {
+                rowNumber++;
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < record.size(); i++) {
+                    if (columns.containsKey(i)) {
+                        values.put(columns.get(i), record.get(i));
+                    }
+                }
+                run.accept(new ImportRow(rowNumber, values));
+            }
+        }
+    }
+
+    private void readXlsx(InputStream inputStream, ImportRun run) throws IOException {
+        // OPCPackage.open(InputStream) buffers the whole archive, so spool the upload to disk first
+        Path file = Files.createTempFile("item-import-", ".xlsx");
+        try {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new RuntimeException("Invalid XLSX file: workbook has no sheets");
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings,
+                            new SheetRowHandler(run), new DataFormatter(Locale.ROOT), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new RuntimeException("Invalid XLSX file: " + e.getMessage());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String canonicalColumn(String header) {
+        String normalized = header.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        return COLUMN_ALIASES.getOrDefault(normalized, normalized);
+    }
+
+    private record ImportRow(long rowNumber, Map<String, String> values) {
+
+        String get(String column) {
+            String value = values.get(column);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    private record ParsedRow(ImportRow row, ItemDTO item) {
+    }
+
+    /**
+     * Accumulates rows into chunks and keeps the running totals of one import.
+     */
+    private class ImportRun {
+
+        private final List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<ItemImportResultDTO.RowError> errors = new ArrayList<>();
+        private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        private Map<String, Long> locationIdsByCode;
+        private Set<Long> supplierIds;
+        private long totalRows;
+        private long inserted;
+        private long updated;
+        private long failed;
+
+        void start(Iterable<String> columns) {
+            Set<String> missing = new HashSet<>(REQUIRED_COLUMNS);
+            columns.forEach(missing::remove);
+            if (!missing.isEmpty()) {
+                throw new RuntimeException("Import file is missing required columns: " + new TreeSet<>(missing));
+            }
+            // reference tables hold a few hundred rows, resolve them once per import
+            locationIdsByCode = locationRepository.findAllCodes().stream()
+                    .collect(Collectors.toMap(LocationRepository.LocationCode::getCode,
+                            LocationRepository.LocationCode::getId));
+            supplierIds = new HashSet<>(supplierRepository.findAllIds());
+        }
+
+        void accept(ImportRow row) {
+            totalRows++;
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<ParsedRow> parsed = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                try {
+                    parsed.add(new ParsedRow(row, parse(row)));
+                } catch (RuntimeException e) {
+                    reject(row, e.getMessage());
+                }
+            }
+            chunk.clear();
+            if (parsed.isEmpty()) {
+                return;
+            }
+
+            try {
+                long[] counts = transactionTemplate.execute(status -> upsert(parsed));
+                inserted += counts[0];
+                updated += counts[1];
+            } catch (RuntimeException e) {
+                entityManager.clear();
+                String message = "Chunk rejected by database: " + rootCauseMessage(e);
+                parsed.forEach(p -> reject(p.row(), message));
+            }
+        }
+
+        private long[] upsert(List<ParsedRow> parsed) {
+            Set<String> skus = parsed.stream()
+                    .map(p -> p.item().getSku())
+                    .collect(Collectors.toSet());
+            Map<String, Item> itemsBySku = itemRepository.findAllBySkuInForUpdate(skus).stream()
+                    .collect(Collectors.toMap(Item::getSku, Function.identity()));
+            List<StockSummaryService.ItemStock> before = StockSummaryService.ItemStock.of(itemsBySku.values(),
+                    stockLevelRepository.findHeldQuantities(itemsBySku.values().stream()
+                            .map(Item::getId)
+                            .collect(Collectors.toList())));
+            Map<Long, LowStockAlertService.StockPosition> positionsBefore = itemsBySku.values().stream()
+                    .collect(Collectors.toMap(Item::getId, LowStockAlertService.StockPosition::of));
+
+            long insertedInChunk = 0;
+            long updatedInChunk = 0;
+            Map<Long, Long> previousLocations = new HashMap<>();
+            for (ParsedRow p : parsed) {
+                ItemDTO dto = p.item();
+                Item item = itemsBySku.get(dto.getSku());
+                if (item == null) {
+                    item = Item.builder().sku(dto.getSku()).build();
+                    applyRow(item, dto);
+                    entityManager.persist(item);
+                    itemsBySku.put(dto.getSku(), item);
+                    insertedInChunk++;
+                } else {
+                    if (item.getLocation() != null) {
+                        previousLocations.put(item.getId(), item.getLocation().getId());
+                    }
+                    applyRow(item, dto);
+                    updatedInChunk++;
+                }
+            }
+            itemsBySku.values().forEach(itemSearchIndex::indexAfterCommit);
+            itemsBySku.values().forEach(item -> lowStockAlerts.recordChange(item,
+                    positionsBefore.get(item.getId()), LowStockAlertService.StockPosition.of(item)));
+            // as in ItemService.updateItem: a new home location takes the old home's stock along
+            for (Item item : itemsBySku.values()) {
+                Long previous = previousLocations.get(item.getId());
+                if (previous != null && item.getLocation() != null && !previous.equals(item.getLocation().getId())) {
+                    stockLevelRepository.relocate(item.getId(), previous, item.getLocation().getId());
+                }
+            }
+            List<Long> itemIds = itemsBySku.values().stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toList());
+            stockLevelRepository.reconcileHomeLocations(itemIds);
+            stockSummaryService.recordChanges(before, StockSummaryService.ItemStock.of(itemsBySku.values(),
+                    stockLevelRepository.findHeldQuantities(itemIds)));
+            // one event per chunk instead of one per row, which would overrun every subscriber
+            changeFeed.recordChange(ChangeEventDTO.EntityType.ITEM, ChangeEventDTO.ChangeType.BULK_CHANGED,
+                    null, () -> itemIds);
+            entityManager.flush();
+            entityManager.clear();
+            return new long[] {insertedInChunk, updatedInChunk};
+        }
+
+        private void applyRow(Item item, ItemDTO dto) {
+            item.setName(dto.getName());
+            item.setDescription(dto.getDescription());
+            item.setQuantity(dto.getQuantity());
+            // files without the column keep the reorder points set through the API
+            if (dto.getReorderPoint() != null) {
+                item.setReorderPoint(dto.getReorderPoint());
+            }
+            item.setUnitPrice(dto.getUnitPrice());
+            item.setStatus(dto.getStatus() != null ? dto.getStatus() : Item.ItemStatus.AVAILABLE);
+            // as in ItemService.updateItem: no column or a blank cell keeps the location and supplier
+            if (dto.getLocationId() != null) {
+                item.setLocation(entityManager.getReference(Location.class, dto.getLocationId()));
+            }
+            if (dto.getSupplierId() != null) {
+                item.setSupplier(entityManager.getReference(Supplier.class, dto.getSupplierId()));
+            }
+        }
+
+        private ItemDTO parse(ImportRow row) {
+            ItemDTO dto = ItemDTO.builder()
+                    .sku(row.get("sku"))
+                    .name(row.get("name"))
+                    .description(row.get("description"))
+                    .quantity(parseInteger(row.get("quantity"), "quantity"))
+                    .reorderPoint(parseInteger(row.get("reorderpoint"), "reorderPoint"))
+                    .unitPrice(parseDecimal(row.get("unitprice"), "unitPrice"))
+                    .build();
+
+            String status = row.get("status");
+            if (status != null) {
+                try {
+                    dto.setStatus(Item.ItemStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException("Invalid status: '" + status + "'");
+                }
+            }
+
+            String locationCode = row.get("locationcode");
+            if (locationCode != null) {
+                Long locationId = locationIdsByCode.get(locationCode);
+                if (locationId == null) {
+                    throw new RuntimeException("Location not found: '" + locationCode + "'");
+                }
+                dto.setLocationId(locationId);
+            }
+
+            Long supplierId = parseLong(row.get("supplierid"), "supplierId");
+            if (supplierId != null) {
+                if (!supplierIds.contains(supplierId)) {
+                    throw new RuntimeException("Supplier not found: " + supplierId);
+                }
+                dto.setSupplierId(supplierId);
+            }
+
+            Set<ConstraintViolation<ItemDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                throw new RuntimeException(violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+            return dto;
+        }
+
+        private void reject(ImportRow row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ItemImportResultDTO.RowError(row.rowNumber(), row.get("sku"), message));
+            }
+        }
+    }
+
+    private static Integer parseInteger(String value, String field) {
+        BigDecimal number = parseDecimal(value, field);
+        try {
+            return number != null ? number.intValueExact() : null;
+        } catch (ArithmeticException e) {
+            throw new RuntimeException("Invalid " + field + ": '" + value + "'");
+        }
+    }
+
+    private static Long parseLong(String value, String field) {
+        BigDecimal number = parseDecimal(value, field);
+        try {
+            return number != null ? number.longValueExact() : null;
+        } catch (ArithmeticException e) {
+            throw new RuntimeException("Invalid " + field + ": '" + value + "'");
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            // .xlsx cells arrive formatted, e.g. "1,234.50" for the #,##0.00 format
+            return new BigDecimal(value.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid " + field + ": '" + value + "'");
+        }
+    }
+
+    private static String rootCauseMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    /**
+     * Turns SAX cell callbacks into {@link ImportRow}s; the first non-empty row is the header.
+     */
+    private static class SheetRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ImportRun run;
+        private Map<Integer, String> columns;
+        private Map<String, String> values;
+
+        SheetRowHandler(ImportRun run) {
+            this.run = run;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values = new HashMap<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (values.isEmpty()) {
+                return;
+            }
+            if (columns == null) {
+                columns = new HashMap<>();
+                values.forEach((index, header) -> columns.put(Integer.valueOf(index), canonicalColumn(header)));
+                run.start(columns.values());
+                return;
+            }
+            run.accept(new ImportRow(rowNum + 1L, values));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            if (columns == null) {
+                values.put(String.valueOf(column), formattedValue);
+            } else if (columns.containsKey(column)) {
+                values.put(columns.get(column), formattedValue);
+            }
+        }
+    }
+}
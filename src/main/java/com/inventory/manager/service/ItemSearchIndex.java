@@ -0,0 +1,305 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process trigram index over item name, SKU and description.
+ *
+ * <p>Every word is padded ({@code "  word "}) and split into trigrams, so a query matches
+ * prefixes, infixes and misspellings as long as it shares enough trigrams with the item.
+ * Postings hold dense document ordinals in ascending order; an updated item gets a new ordinal
+ * and the old one becomes a tombstone until the next compaction.
+ *
+ * <p>The index is built from the database on startup and kept in sync by the item writers,
+ * which call {@link #indexAfterCommit(Item)} / {@link #removeAfterCommit(Long)} so that rolled
+ * back changes never become searchable. Writes made by other application instances are not
+ * seen until {@link #rebuild()}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    /** Share of the query trigrams a document must contain to be a candidate. */
+    static final double MIN_SIMILARITY = 0.4;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingDouble(Hit::score)
+            .thenComparing(Hit::itemId, Comparator.reverseOrder());
+
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    /** Changes made while {@link #rebuild()} scans the table, replayed onto the new segment. */
+    private List<Document> pendingChanges;
+
+    public record Hit(Long itemId, double score) {
+    }
+
+    /**
+     * Returns up to {@code limit} items ranked by relevance: share of query trigrams found,
+     * plus bonuses for an exact SKU match, a prefix of name or SKU, and the query as a substring
+     * of the name.
+     */
+    public List<Hit> search(String query, int limit) {
+        String normalized = normalize(query);
+        long[] queryTrigrams = trigrams(normalized);
+        if (queryTrigrams.length == 0 || limit < 1) {
+            return List.of();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(queryTrigrams.length * MIN_SIMILARITY));
+
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            int[] candidates = current.candidates(queryTrigrams);
+            Arrays.sort(candidates);
+
+            // an ordinal is in each posting list once, so its run length is the number of shared trigrams
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING);
+            for (int start = 0, end; start < candidates.length; start = end) {
+                int ordinal = candidates[start];
+                end = start + 1;
+                while (end < candidates.length && candidates[end] == ordinal) {
+                    end++;
+                }
+                Document document = current.documents.get(ordinal);
+                if (end - start < minShared || document == null) {
+                    continue;
+                }
+                top.add(new Hit(document.id(), score(document, normalized,
+                        (double) (end - start) / queryTrigrams.length)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(RANKING.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexAfterCommit(Item item) {
+        Document document = document(item.getId(), item.getName(), item.getSku(), item.getDescription());
+        AfterCommit.run(() -> apply(document));
+    }
+
+    public void removeAfterCommit(Long itemId) {
+        AfterCommit.run(() -> apply(new Document(itemId, null, null, null)));
+    }
+
+    /**
+     * Rebuilds the index from the items table. Searches keep using the old index until the
+     * new one is complete; writes committed meanwhile are replayed onto the new one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            KeysetPages.stream(itemRepository::findSearchDocumentsAfter, ItemRepository.SearchDocument::id,
+                    row -> document(row.id(), row.name(), row.sku(), row.description()),
+                    rebuilt::put, entityManager);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(rebuilt::apply);
+                pendingChanges = null;
+                segment = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    void apply(Document document) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(document);
+            }
+            segment.apply(document);
+            if (segment.tombstones > Math.max(1024, segment.ordinals.size())) {
+                segment = segment.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static Document document(Long id, String name, String sku, String description) {
+        return new Document(id, normalize(name), normalize(sku), normalize(description));
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return NON_ALPHANUMERIC.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Distinct trigrams of the padded words of a normalized text, packed three chars to a long.
+     */
+    static long[] trigrams(String normalized) {
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+        String[] words = normalized.split(" ");
+        long[] trigrams = new long[normalized.length() + 2 * words.length];
+        int count = 0;
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams[count++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16)
+                        | padded.charAt(i + 2);
+            }
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[i] != trigrams[distinct - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static double score(Document document, String query, double similarity) {
+        double score = similarity;
+        if (document.sku().equals(query)) {
+            score += 1.0;
+        }
+        if (document.name().startsWith(query) || document.sku().startsWith(query)) {
+            score += 0.5;
+        }
+        if (document.name().contains(query)) {
+            score += 0.25;
+        }
+        return score;
+    }
+
+    /**
+     * A normalized item; all text fields {@code null} marks a removal.
+     */
+    record Document(Long id, String name, String sku, String description) {
+
+        boolean isRemoval() {
+            return name == null;
+        }
+    }
+
+    private static class Segment {
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private int tombstones;
+
+        void apply(Document document) {
+            Integer previous = ordinals.remove(document.id());
+            if (previous != null) {
+                documents.set(previous, null);
+                tombstones++;
+            }
+            if (!document.isRemoval()) {
+                put(document);
+            }
+        }
+
+        void put(Document document) {
+            int ordinal = documents.size();
+            documents.add(document);
+            ordinals.put(document.id(), ordinal);
+            String text = String.join(" ", document.name(), document.sku(), document.description()).trim();
+            for (long trigram : trigrams(text)) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(ordinal);
+            }
+        }
+
+        /**
+         * The postings of the given trigrams concatenated, so a search costs the postings it
+         * touches rather than the size of the catalog.
+         */
+        int[] candidates(long[] trigrams) {
+            Postings[] lists = new Postings[trigrams.length];
+            int total = 0;
+            for (int i = 0; i < trigrams.length; i++) {
+                lists[i] = postings.get(trigrams[i]);
+                total += lists[i] != null ? lists[i].size : 0;
+            }
+            int[] candidates = new int[total];
+            int offset = 0;
+            for (Postings list : lists) {
+                if (list != null) {
+                    System.arraycopy(list.ordinals, 0, candidates, offset, list.size);
+                    offset += list.size;
+                }
+            }
+            return candidates;
+        }
+
+        Segment compact() {
+            Segment compacted = new Segment();
+            documents.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(compacted::put);
+            return compacted;
+        }
+    }
+
+    /**
+     * Growable, ascending list of document ordinals for one trigram.
+     */
+    private static class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
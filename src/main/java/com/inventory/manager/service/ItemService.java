@@ -1,17 +1,30 @@
 package com.inventory.manager.service;
 
+import com.inventory.manager.dto.ChangeEventDTO;
 import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.dto.SupplierDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
 import com.inventory.manager.entity.Item;
 import com.inventory.manager.entity.Location;
 import com.inventory.manager.entity.Supplier;
+import com.inventory.manager.entity.Tombstone;
 import com.inventory.manager.repository.ItemRepository;
 import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.StockLevelRepository;
 import com.inventory.manager.repository.SupplierRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,13 +33,49 @@ import java.util.stream.Collectors;
 public class ItemService {
     
     private final ItemRepository itemRepository;
+    private final StockLevelRepository stockLevelRepository;
     private final LocationRepository locationRepository;
     private final SupplierRepository supplierRepository;
+    private final StockSummaryService stockSummaryService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final LowStockAlertService lowStockAlerts;
+    private final ChangeFeed changeFeed;
+    private final DeltaSyncService deltaSync;
+    private final ReferenceDataCache referenceData;
+    private final EntityManager entityManager;
     
+    @Transactional(readOnly = true)
     public List<ItemDTO> getAllItems() {
-        return itemRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return itemRepository.findAllItemDTOs();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ItemDTO> getItemsAfter(Long after, Integer limit) {
+        return itemRepository.findItemDTOsAfter(KeysetPages.after(after), KeysetPages.limit(limit));
+    }
+    
+    @Transactional(readOnly = true)
+    public SyncDeltaDTO<ItemDTO> getItemsChangedSince(LocalDateTime since) {
+        return deltaSync.changesSince(Tombstone.EntityType.ITEM, since, itemRepository::findItemDTOsChangedSince,
+                ItemDTO::getUpdatedAt);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamAllItems(Consumer<ItemDTO> consumer) {
+        KeysetPages.stream(itemRepository::findItemDTOsAfter, ItemDTO::getId,
+                Function.identity(), consumer, entityManager);
+    }
+    
+    /**
+     * ETag of {@link #getItemById}, read from the item's own timestamps, so writes to other items
+     * (e.g. their movements) leave it valid. Read it before the item: a concurrent write can only
+     * make it stale.
+     */
+    @Transactional(readOnly = true)
+    public String getItemEtag(Long id) {
+        return itemRepository.findItemVersion(id)
+                .orElseThrow(() -> new RuntimeException("Item not found with id: " + id))
+                .etag();
     }
     
     public ItemDTO getItemById(Long id) {
@@ -42,66 +91,137 @@ public class ItemService {
         
         Item item = convertToEntity(itemDTO);
         Item savedItem = itemRepository.save(item);
+        if (savedItem.getLocation() != null) {
+            stockLevelRepository.reconcileHomeLocations(List.of(savedItem.getId()));
+        }
+        stockSummaryService.recordChange(null, StockSummaryService.ItemStock.ofNewItem(savedItem));
+        lowStockAlerts.recordChange(savedItem, null, LowStockAlertService.StockPosition.of(savedItem));
+        itemSearchIndex.indexAfterCommit(savedItem);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.ITEM, ChangeEventDTO.ChangeType.CREATED,
+                savedItem.getId(), () -> convertToDTO(savedItem));
         return convertToDTO(savedItem);
     }
     
     public ItemDTO updateItem(Long id, ItemDTO itemDTO) {
-        Item item = itemRepository.findById(id)
+        // the row lock keeps the pre-image used for the stock aggregates exact
+        Item item = itemRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Item not found with id: " + id));
+        StockSummaryService.ItemStock before = StockSummaryService.ItemStock.of(item,
+                stockLevelRepository.findHeldQuantities(List.of(id)));
+        LowStockAlertService.StockPosition positionBefore = LowStockAlertService.StockPosition.of(item);
         
         item.setName(itemDTO.getName());
         item.setDescription(itemDTO.getDescription());
         item.setQuantity(itemDTO.getQuantity());
+        item.setReorderPoint(itemDTO.getReorderPoint());
         item.setUnitPrice(itemDTO.getUnitPrice());
         item.setStatus(itemDTO.getStatus());
         
         if (itemDTO.getLocationId() != null) {
-            Location location = locationRepository.findById(itemDTO.getLocationId())
-                    .orElseThrow(() -> new RuntimeException("Location not found"));
-            item.setLocation(location);
+            item.setLocation(locationReference(itemDTO.getLocationId()));
         }
         
         if (itemDTO.getSupplierId() != null) {
-            Supplier supplier = supplierRepository.findById(itemDTO.getSupplierId())
-                    .orElseThrow(() -> new RuntimeException("Supplier not found"));
-            item.setSupplier(supplier);
+            item.setSupplier(supplierReference(itemDTO.getSupplierId()));
         }
         
         Item updatedItem = itemRepository.save(item);
+        // a new home location takes the old home's stock along; the quantity set here is the
+        // total, and stock held at other locations stays where it is
+        Long newLocationId = updatedItem.getLocation() != null ? updatedItem.getLocation().getId() : null;
+        if (before.locationId() != null && newLocationId != null && !before.locationId().equals(newLocationId)) {
+            stockLevelRepository.relocate(id, before.locationId(), newLocationId);
+        }
+        stockLevelRepository.reconcileHomeLocations(List.of(id));
+        stockSummaryService.recordChange(before, StockSummaryService.ItemStock.of(updatedItem,
+                stockLevelRepository.findHeldQuantities(List.of(id))));
+        lowStockAlerts.recordChange(updatedItem, positionBefore, LowStockAlertService.StockPosition.of(updatedItem));
+        itemSearchIndex.indexAfterCommit(updatedItem);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.ITEM, ChangeEventDTO.ChangeType.UPDATED,
+                id, () -> convertToDTO(updatedItem));
         return convertToDTO(updatedItem);
     }
     
     public void deleteItem(Long id) {
-        if (!itemRepository.existsById(id)) {
-            throw new RuntimeException("Item not found with id: " + id);
-        }
-        itemRepository.deleteById(id);
+        Item item = itemRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Item not found with id: " + id));
+        stockSummaryService.recordChange(StockSummaryService.ItemStock.of(item,
+                stockLevelRepository.findHeldQuantities(List.of(id))), null);
+        itemRepository.delete(item);
+        deltaSync.recordDeletion(Tombstone.EntityType.ITEM, id);
+        itemSearchIndex.removeAfterCommit(id);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.ITEM, ChangeEventDTO.ChangeType.DELETED, id, null);
     }
     
-    public List<ItemDTO> searchItems(String keyword) {
-        return itemRepository.searchByName(keyword).stream()
-                .map(this::convertToDTO)
+    /**
+     * Ranked search over name, SKU and description through {@link ItemSearchIndex}; only the
+     * matching rows are loaded, in relevance order.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "inventory.items.search", description = "Item search, index lookup plus row fetch", histogram = true)
+    public List<ItemDTO> searchItems(String keyword, Integer limit) {
+        List<ItemSearchIndex.Hit> hits = itemSearchIndex.search(keyword, KeysetPages.limit(limit).max());
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, ItemDTO> itemsById = itemRepository.findItemDTOsByIdIn(hits.stream()
+                        .map(ItemSearchIndex.Hit::itemId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(ItemDTO::getId, Function.identity()));
+        return hits.stream()
+                .map(hit -> itemsById.get(hit.itemId()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Items below a fixed {@code threshold}, or, without one, items at or below their own
+     * reorder point (read through the {@code stock_margin} index).
+     */
+    @Transactional(readOnly = true)
     public List<ItemDTO> getLowStockItems(Integer threshold) {
-        return itemRepository.findLowStockItems(threshold).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        if (threshold == null) {
+            return itemRepository.findItemDTOsAtReorderPoint();
+        }
+        return itemRepository.findLowStockItemDTOs(threshold);
+    }
+    
+    /**
+     * Validates the id against the reference data cache and returns an unloaded proxy,
+     * so linking an item to its location costs no query.
+     */
+    private Location locationReference(Long locationId) {
+        if (referenceData.findLocation(locationId) == null) {
+            throw new RuntimeException("Location not found");
+        }
+        return locationRepository.getReferenceById(locationId);
+    }
+    
+    private Supplier supplierReference(Long supplierId) {
+        if (referenceData.findSupplier(supplierId) == null) {
+            throw new RuntimeException("Supplier not found");
+        }
+        return supplierRepository.getReferenceById(supplierId);
     }
     
     private ItemDTO convertToDTO(Item item) {
+        LocationDTO location = item.getLocation() != null
+                ? referenceData.findLocation(item.getLocation().getId()) : null;
+        SupplierDTO supplier = item.getSupplier() != null
+                ? referenceData.findSupplier(item.getSupplier().getId()) : null;
         return ItemDTO.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .sku(item.getSku())
                 .quantity(item.getQuantity())
+                .reorderPoint(item.getReorderPoint())
                 .unitPrice(item.getUnitPrice())
                 .locationId(item.getLocation() != null ? item.getLocation().getId() : null)
-                .locationName(item.getLocation() != null ? item.getLocation().getName() : null)
+                .locationName(location != null ? location.getName() : null)
                 .supplierId(item.getSupplier() != null ? item.getSupplier().getId() : null)
-                .supplierName(item.getSupplier() != null ? item.getSupplier().getName() : null)
+                .supplierName(supplier != null ? supplier.getName() : null)
                 .status(item.getStatus())
                 .createdAt(item.getCreatedAt())
                 .updatedAt(item.getUpdatedAt())
@@ -114,20 +234,17 @@ public class ItemService {
                 .description(dto.getDescription())
                 .sku(dto.getSku())
                 .quantity(dto.getQuantity())
+                .reorderPoint(dto.getReorderPoint())
                 .unitPrice(dto.getUnitPrice())
                 .status(dto.getStatus() != null ? dto.getStatus() : Item.ItemStatus.AVAILABLE)
                 .build();
         
         if (dto.getLocationId() != null) {
-            Location location = locationRepository.findById(dto.getLocationId())
-                    .orElseThrow(() -> new RuntimeException("Location not found"));
-            item.setLocation(location);
+            item.setLocation(locationReference(dto.getLocationId()));
         }
         
         if (dto.getSupplierId() != null) {
-            Supplier supplier = supplierRepository.findById(dto.getSupplierId())
-                    .orElseThrow(() -> new RuntimeException("Supplier not found"));
-            item.setSupplier(supplier);
+            item.setSupplier(supplierReference(dto.getSupplierId()));
         }
         
         return item;
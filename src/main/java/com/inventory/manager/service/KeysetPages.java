@@ -0,0 +1,72 @@
+package com.inventory.manager.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over entity ids: every page is fetched with
+ * {@code id > :after ORDER BY id}, so page N costs the same as page 1.
+ */
+final class KeysetPages {
+    
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+    static final int STREAM_BATCH_SIZE = 500;
+    
+    private KeysetPages() {
+    }
+    
+    static Limit limit(Integer requested) {
+        if (requested == null) {
+            return Limit.of(DEFAULT_LIMIT);
+        }
+        if (requested < 1) {
+            throw new RuntimeException("Limit must be positive");
+        }
+        return Limit.of(Math.min(requested, MAX_LIMIT));
+    }
+    
+    static long after(Long after) {
+        return after != null ? after : 0L;
+    }
+    
+    /**
+     * Walks the whole table page by page and hands every converted row to the consumer.
+     * The persistence context is cleared after each page, so heap usage stays bounded
+     * by {@link #STREAM_BATCH_SIZE} no matter how many rows the table holds.
+     */
+    static <E, D> void stream(BiFunction<Long, Limit, List<E>> pageFetcher,
+                              Function<E, Long> idExtractor,
+                              Function<E, D> converter,
+                              Consumer<D> consumer,
+                              EntityManager entityManager) {
+        streamPages(pageFetcher, idExtractor,
+                page -> page.stream().map(converter).toList(), consumer, entityManager);
+    }
+    
+    /**
+     * Like {@link #stream}, but converts a whole page at once, so the converter can load
+     * per-row extras (counts, lookups) with one query per page instead of one per row.
+     */
+    static <E, D> void streamPages(BiFunction<Long, Limit, List<E>> pageFetcher,
+                                   Function<E, Long> idExtractor,
+                                   Function<List<E>, List<D>> pageConverter,
+                                   Consumer<D> consumer,
+                                   EntityManager entityManager) {
+        long after = 0L;
+        List<E> page;
+        do {
+            page = pageFetcher.apply(after, Limit.of(STREAM_BATCH_SIZE));
+            pageConverter.apply(page).forEach(consumer);
+            if (!page.isEmpty()) {
+                after = idExtractor.apply(page.get(page.size() - 1));
+            }
+            entityManager.clear();
+        } while (page.size() == STREAM_BATCH_SIZE);
+    }
+}
@@ -1,13 +1,22 @@
 package com.inventory.manager.service;
 
+import com.inventory.manager.dto.ChangeEventDTO;
 import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
 import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Tombstone;
+import com.inventory.manager.repository.ItemRepository;
 import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,23 +25,49 @@ import java.util.stream.Collectors;
 public class LocationService {
     
     private final LocationRepository locationRepository;
+    private final ItemRepository itemRepository;
+    private final StockLevelRepository stockLevelRepository;
+    private final ReferenceDataCache referenceData;
+    private final ChangeFeed changeFeed;
+    private final DeltaSyncService deltaSync;
+    private final EntityManager entityManager;
     
     public List<LocationDTO> getAllLocations() {
-        return locationRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(locationRepository.findAll());
+    }
+    
+    public List<LocationDTO> getLocationsAfter(Long after, Integer limit) {
+        return convertToDTOs(locationRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetPages.after(after), KeysetPages.limit(limit)));
+    }
+    
+    @Transactional(readOnly = true)
+    public SyncDeltaDTO<LocationDTO> getLocationsChangedSince(LocalDateTime since) {
+        return deltaSync.changesSince(Tombstone.EntityType.LOCATION, since, (changedSince, limit) -> convertToDTOs(
+                locationRepository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(changedSince, limit)),
+                LocationDTO::getUpdatedAt);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamAllLocations(Consumer<LocationDTO> consumer) {
+        KeysetPages.streamPages(locationRepository::findByIdGreaterThanOrderByIdAsc, Location::getId,
+                this::convertToDTOs, consumer, entityManager);
     }
     
     public LocationDTO getLocationById(Long id) {
-        Location location = locationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Location not found with id: " + id));
-        return convertToDTO(location);
+        LocationDTO location = referenceData.findLocation(id);
+        if (location == null) {
+            throw new RuntimeException("Location not found with id: " + id);
+        }
+        return withItemCount(location);
     }
     
     public LocationDTO getLocationByCode(String code) {
-        Location location = locationRepository.findByCode(code)
-                .orElseThrow(() -> new RuntimeException("Location not found with code: " + code));
-        return convertToDTO(location);
+        LocationDTO location = referenceData.findLocationByCode(code);
+        if (location == null) {
+            throw new RuntimeException("Location not found with code: " + code);
+        }
+        return withItemCount(location);
     }
     
     public LocationDTO createLocation(LocationDTO locationDTO) {
@@ -43,7 +78,9 @@ public class LocationService {
         
         Location location = convertToEntity(locationDTO);
         Location savedLocation = locationRepository.save(location);
-        return convertToDTO(savedLocation);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.LOCATION, ChangeEventDTO.ChangeType.CREATED,
+                savedLocation.getId(), () -> convertToDTO(savedLocation, 0));
+        return convertToDTO(savedLocation, 0);
     }
     
     public LocationDTO updateLocation(Long id, LocationDTO locationDTO) {
@@ -58,13 +95,18 @@ public class LocationService {
                     }
                 });
         
+        String previousCode = location.getCode();
         location.setName(locationDTO.getName());
         location.setAddress(locationDTO.getAddress());
         location.setCode(locationDTO.getCode());
         location.setType(locationDTO.getType());
         
         Location updatedLocation = locationRepository.save(location);
-        return convertToDTO(updatedLocation);
+        referenceData.evictLocation(id, previousCode, updatedLocation.getCode());
+        long itemCount = itemRepository.countByLocationId(id);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.LOCATION, ChangeEventDTO.ChangeType.UPDATED,
+                id, () -> convertToDTO(updatedLocation, itemCount));
+        return convertToDTO(updatedLocation, itemCount);
     }
     
     public void deleteLocation(Long id) {
@@ -72,22 +114,52 @@ public class LocationService {
                 .orElseThrow(() -> new RuntimeException("Location not found with id: " + id));
         
         // Проверка, что локация не содержит товары
-        if (!location.getItems().isEmpty()) {
+        if (itemRepository.existsByLocationId(id)) {
             throw new RuntimeException("Cannot delete location with existing items. Please relocate items first.");
         }
+        if (stockLevelRepository.existsByLocationIdAndQuantityGreaterThan(id, 0)) {
+            throw new RuntimeException("Cannot delete location that still holds stock. Please move the stock first.");
+        }
         
         locationRepository.deleteById(id);
+        referenceData.evictLocation(id, location.getCode());
+        deltaSync.recordDeletion(Tombstone.EntityType.LOCATION, id);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.LOCATION, ChangeEventDTO.ChangeType.DELETED, id, null);
+    }
+    
+    /** Copies the cached snapshot; the item count is always read fresh. */
+    private LocationDTO withItemCount(LocationDTO location) {
+        return location.toBuilder()
+                .itemCount((int) itemRepository.countByLocationId(location.getId()))
+                .build();
+    }
+    
+    /**
+     * Converts a page of locations, counting their items with one grouped query
+     * instead of initializing every {@code items} collection.
+     */
+    private List<LocationDTO> convertToDTOs(List<Location> locations) {
+        if (locations.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> itemCounts = itemRepository.countByLocationIdIn(
+                        locations.stream().map(Location::getId).toList()).stream()
+                .collect(Collectors.toMap(ItemRepository.ItemCount::getOwnerId, ItemRepository.ItemCount::getItemCount));
+        return locations.stream()
+                .map(location -> convertToDTO(location, itemCounts.getOrDefault(location.getId(), 0L)))
+                .collect(Collectors.toList());
     }
     
-    private LocationDTO convertToDTO(Location location) {
+    private LocationDTO convertToDTO(Location location, long itemCount) {
         return LocationDTO.builder()
                 .id(location.getId())
                 .name(location.getName())
                 .address(location.getAddress())
                 .code(location.getCode())
                 .type(location.getType())
-                .itemCount(location.getItems() != null ? location.getItems().size() : 0)
+                .itemCount((int) itemCount)
                 .createdAt(location.getCreatedAt())
+                .updatedAt(location.getUpdatedAt())
                 .build();
     }
     
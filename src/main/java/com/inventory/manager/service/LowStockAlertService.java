@@ -0,0 +1,62 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.LowStockAlertDTO;
+import com.inventory.manager.entity.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evaluates reorder points on every stock-changing write. Only the written item's state before
+ * and after is compared, so the check costs the same whatever the catalog size, and an alert is
+ * published only when the item crosses its reorder point, not on every write below it.
+ *
+ * <p>Alerts are published as application events after commit; rolled back writes raise none.
+ */
+@Service
+@RequiredArgsConstructor
+public class LowStockAlertService {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * The part of an item's state that decides whether its stock is low.
+     */
+    public record StockPosition(int quantity, Integer reorderPoint) {
+        
+        public static StockPosition of(Item item) {
+            return new StockPosition(item.getQuantity(), item.getReorderPoint());
+        }
+        
+        public StockPosition withQuantity(int newQuantity) {
+            return new StockPosition(newQuantity, reorderPoint);
+        }
+        
+        boolean isLow() {
+            return reorderPoint != null && quantity <= reorderPoint;
+        }
+    }
+    
+    /**
+     * Compares one item's position before and after a write; {@code before} is {@code null} for
+     * a new item.
+     */
+    public void recordChange(Item item, StockPosition before, StockPosition after) {
+        boolean wasLow = before != null && before.isLow();
+        if (wasLow == after.isLow()) {
+            return;
+        }
+        LowStockAlertDTO alert = LowStockAlertDTO.builder()
+                .itemId(item.getId())
+                .sku(item.getSku())
+                .itemName(item.getName())
+                .quantity(after.quantity())
+                .reorderPoint(after.reorderPoint())
+                .type(after.isLow() ? LowStockAlertDTO.AlertType.LOW : LowStockAlertDTO.AlertType.RESTOCKED)
+                .occurredAt(LocalDateTime.now())
+                .build();
+        AfterCommit.run(() -> eventPublisher.publishEvent(alert));
+    }
+}
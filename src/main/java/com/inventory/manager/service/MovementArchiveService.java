@@ -0,0 +1,134 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.repository.MovementArchiveRepository;
+import com.inventory.manager.repository.StockSnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+
+/**
+ * Moves cold months of the movement ledger into {@code movements_archive}, so the hot table and
+ * its indexes only hold the recent months.
+ *
+ * <p>On PostgreSQL ({@code inventory.movements.partitioned=true}) movements is range-partitioned
+ * by month: cold partitions are detached with {@code DETACH PARTITION ... CONCURRENTLY}, then
+ * copied and dropped as plain tables, so movements itself is never locked against reads and
+ * writes; partitions for the coming months are created ahead. On H2 the rows are copied and
+ * deleted.
+ *
+ * <p>Months move once they end before {@code inventory.movements.archive-after} ago. Stock
+ * snapshots from before that point are deleted with them, since a point-in-time query there
+ * would need the archived ledger tail; such queries fail with "No stock snapshot" instead.
+ * Movement rollups are kept, so time series still cover the archived months, and the movement
+ * reads in {@link MovementService} go through the archive as well.
+ */
+@Service
+public class MovementArchiveService {
+    
+    private final MovementArchiveRepository movementArchiveRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final StockLedgerService stockLedgerService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Period archiveAfter;
+    private final boolean partitioned;
+    private final int partitionsAhead;
+    
+    public MovementArchiveService(MovementArchiveRepository movementArchiveRepository,
+                                  StockSnapshotRepository stockSnapshotRepository,
+                                  StockLedgerService stockLedgerService,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${inventory.movements.archive-after:P12M}") Period archiveAfter,
+                                  @Value("${inventory.movements.partitioned:false}") boolean partitioned,
+                                  @Value("${inventory.movements.partitions-ahead:3}") int partitionsAhead) {
+        this.movementArchiveRepository = movementArchiveRepository;
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.stockLedgerService = stockLedgerService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveAfter = archiveAfter;
+        this.partitioned = partitioned;
+        this.partitionsAhead = partitionsAhead;
+    }
+    
+    /**
+     * Archives every month that ended before the cutoff and returns the number of movements moved.
+     * On PostgreSQL it must be called outside a transaction, as the scheduler does: detaching
+     * a partition concurrently cannot run inside one.
+     */
+    @Scheduled(cron = "${inventory.movements.archive-cron:0 30 3 * * *}")
+    public long archiveColdMovements() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime cutoff = archiveCutoff(today);
+        if (partitioned) {
+            // committed first and on its own: a failing detach must not use up the months ahead
+            ensurePartitions(today);
+            detachPartitionsBefore(cutoff);
+        }
+        return transactionTemplate.execute(status -> archiveDetached(cutoff));
+    }
+    
+    /**
+     * Movements has no default partition (PostgreSQL), so a write for a month without a partition
+     * fails: make sure the coming months exist before the first archive run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        if (partitioned) {
+            ensurePartitions(LocalDate.now());
+        }
+    }
+    
+    private void ensurePartitions(LocalDate today) {
+        transactionTemplate.executeWithoutResult(
+                status -> movementArchiveRepository.ensurePartitions(today, partitionsAhead));
+    }
+    
+    /**
+     * Detaches the partitions of the cold months, one auto-committed statement each. A detach
+     * interrupted halfway (e.g. by a restart) is completed with {@code FINALIZE}.
+     */
+    private void detachPartitionsBefore(LocalDateTime cutoff) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new RuntimeException("Movement partitions must be detached outside a transaction");
+        }
+        // names are movements_YYYY_MM, checked by cold_movement_partitions
+        jdbcTemplate.query("SELECT name, detach_pending FROM cold_movement_partitions(?)",
+                        (row, rowNumber) -> "ALTER TABLE movements DETACH PARTITION " + row.getString("name")
+                                + (row.getBoolean("detach_pending") ? " FINALIZE" : " CONCURRENTLY"),
+                        cutoff)
+                .forEach(jdbcTemplate::execute);
+    }
+    
+    private long archiveDetached(LocalDateTime cutoff) {
+        long archived;
+        if (partitioned) {
+            archived = movementArchiveRepository.archivePartitionsBefore(cutoff);
+        } else {
+            archived = movementArchiveRepository.copyHotMovementsBefore(cutoff);
+            movementArchiveRepository.deleteHotMovementsBefore(cutoff);
+        }
+        if (!stockSnapshotRepository.existsByTakenAtGreaterThanEqual(cutoff)) {
+            // current stock must stay answerable from a snapshot whose ledger tail is still hot
+            stockLedgerService.takeSnapshot();
+        }
+        stockSnapshotRepository.deleteTakenBefore(cutoff);
+        return archived;
+    }
+    
+    /** Start of the month {@code archive-after} before {@code today}; earlier months are cold. */
+    LocalDateTime archiveCutoff(LocalDate today) {
+        return today.minus(archiveAfter).withDayOfMonth(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,128 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.MovementTimeseriesDTO;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.MovementRollup;
+import com.inventory.manager.repository.MovementRollupRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the hourly and daily {@code movement_rollups} in step with the movement ledger and serves
+ * time series from them.
+ *
+ * <p>Movements are counted against their destination location. New movements are added to their
+ * hour and day rows inside the creating transaction; reads group the rollup rows only, so their
+ * cost depends on the number of buckets in the range, not on the number of movements.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class MovementRollupService {
+    
+    private static final Comparator<Key> KEY_ORDER = Comparator
+            .comparing(Key::itemId)
+            .thenComparing(Key::locationId)
+            .thenComparing(Key::type)
+            .thenComparing(Key::hour);
+    
+    private final MovementRollupRepository movementRollupRepository;
+    private final EntityManager entityManager;
+    
+    /**
+     * What a time series is broken down by besides the bucket.
+     */
+    public enum GroupBy {
+        NONE, ITEM, LOCATION, TYPE
+    }
+    
+    /**
+     * Adds saved movements to their hour and day rows. Deltas are netted per row and applied in
+     * item order, so concurrent writers take the shared day rows in the same order and cannot deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordMovements(Collection<Movement> movements) {
+        // movementDate is generated on insert; the delta statements below would flush anyway
+        entityManager.flush();
+        Map<Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (Movement movement : movements) {
+            Key key = new Key(movement.getItem().getId(), movement.getToLocation().getId(), movement.getType(),
+                    bucketStart(MovementRollup.Granularity.HOUR, movement.getMovementDate()));
+            deltas.computeIfAbsent(key, k -> new Delta()).add(movement.getQuantity());
+        }
+        
+        deltas.forEach((key, delta) -> movementRollupRepository.addDelta(key.hour(),
+                bucketStart(MovementRollup.Granularity.DAY, key.hour()), key.itemId(), key.locationId(),
+                key.type().name(), delta.movementCount, delta.quantity));
+    }
+    
+    /**
+     * Recomputes every rollup row from the movement ledger, hot and archived, e.g. after movements
+     * were written out of band.
+     */
+    public void rebuild() {
+        movementRollupRepository.deleteAllRows();
+        movementRollupRepository.insertFromMovements();
+    }
+    
+    /**
+     * Movement counts and quantities per bucket in {@code [from, to)}, optionally restricted to one
+     * item or location. {@code from} is widened to the start of its bucket; empty buckets are left out.
+     */
+    @Timed(value = "inventory.reports.movements.timeseries", description = "Movement time series from rollups", histogram = true)
+    @Transactional(readOnly = true)
+    public List<MovementTimeseriesDTO> getTimeseries(MovementRollup.Granularity granularity, GroupBy groupBy,
+                                                     LocalDateTime from, LocalDateTime to,
+                                                     Long itemId, Long locationId) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("from must be before to");
+        }
+        LocalDateTime start = bucketStart(granularity, from);
+        List<MovementRollupRepository.TimeseriesRow> rows = switch (groupBy) {
+            case NONE -> movementRollupRepository.findTotals(granularity, start, to, itemId, locationId);
+            case ITEM -> movementRollupRepository.findTotalsByItem(granularity, start, to, itemId, locationId);
+            case LOCATION -> movementRollupRepository.findTotalsByLocation(granularity, start, to, itemId, locationId);
+            case TYPE -> movementRollupRepository.findTotalsByType(granularity, start, to, itemId, locationId);
+        };
+        return rows.stream()
+                .map(row -> MovementTimeseriesDTO.builder()
+                        .bucketStart(row.getBucketStart())
+                        .itemId(row.getItemId())
+                        .locationId(row.getLocationId())
+                        .type(row.getType())
+                        .movementCount(row.getMovementCount())
+                        .totalQuantity(row.getTotalQuantity())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    static LocalDateTime bucketStart(MovementRollup.Granularity granularity, LocalDateTime time) {
+        return time.truncatedTo(granularity == MovementRollup.Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+    
+    private record Key(Long itemId, Long locationId, Movement.MovementType type, LocalDateTime hour) {
+    }
+    
+    private static class Delta {
+        private long movementCount;
+        private long quantity;
+        
+        void add(int movementQuantity) {
+            movementCount++;
+            quantity += movementQuantity;
+        }
+    }
+}
@@ -1,53 +1,99 @@
 package com.inventory.manager.service;
 
+import com.inventory.manager.dto.ChangeEventDTO;
+import com.inventory.manager.dto.LocationDTO;
 import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
 import com.inventory.manager.entity.Item;
 import com.inventory.manager.entity.Location;
 import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.StockLevel;
 import com.inventory.manager.repository.ItemRepository;
 import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.MovementArchiveRepository;
 import com.inventory.manager.repository.MovementRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class MovementService {
     
+    static final int MAX_BATCH_SIZE = 5000;
+    
     private final MovementRepository movementRepository;
+    private final MovementArchiveRepository movementArchiveRepository;
+    private final StockLevelRepository stockLevelRepository;
     private final ItemRepository itemRepository;
     private final LocationRepository locationRepository;
+    private final StockSummaryService stockSummaryService;
+    private final LowStockAlertService lowStockAlerts;
+    private final MovementRollupService movementRollups;
+    private final ChangeFeed changeFeed;
+    private final DeltaSyncService deltaSync;
+    private final ReferenceDataCache referenceData;
+    private final EntityManager entityManager;
     
+    /**
+     * The whole ledger, archived months first. Like the item and date range reads it goes through
+     * {@code movements_archive} too: archived entries are older than any hot one.
+     */
+    @Transactional(readOnly = true)
     public List<MovementDTO> getAllMovements() {
-        return movementRepository.findAll().stream()
-                .map(this::convertToDTO)
+        return Stream.concat(movementArchiveRepository.findAllMovementDTOs().stream(),
+                        movementRepository.findAllMovementDTOs().stream())
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public List<MovementDTO> getMovementsAfter(Long after, Integer limit) {
+        return findMovementDTOsAfter(KeysetPages.after(after), KeysetPages.limit(limit));
+    }
+    
+    /** The ledger is append-only, so a movement delta never has deletes. */
+    @Transactional(readOnly = true)
+    public SyncDeltaDTO<MovementDTO> getMovementsChangedSince(LocalDateTime since) {
+        return deltaSync.changesSince(since, movementRepository::findMovementDTOsChangedSince,
+                MovementDTO::getMovementDate);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamAllMovements(Consumer<MovementDTO> consumer) {
+        KeysetPages.stream(this::findMovementDTOsAfter, MovementDTO::getId,
+                Function.identity(), consumer, entityManager);
+    }
+    
     public MovementDTO getMovementById(Long id) {
         Movement movement = movementRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Movement not found with id: " + id));
         return convertToDTO(movement);
     }
     
+    @Timed(value = "inventory.movements.create", description = "Single movement write, including the item row lock", histogram = true)
     public MovementDTO createMovement(MovementDTO movementDTO) {
-        Item item = itemRepository.findById(movementDTO.getItemId())
+        // Locked up front so the item state read here is the exact pre-image for the stock aggregates
+        Item item = itemRepository.findByIdForUpdate(movementDTO.getItemId())
                 .orElseThrow(() -> new RuntimeException("Item not found"));
         
-        Location toLocation = locationRepository.findById(movementDTO.getToLocationId())
-                .orElseThrow(() -> new RuntimeException("Destination location not found"));
-        
-        // Validate quantity
-        if (movementDTO.getType() == Movement.MovementType.TRANSFER && 
-            item.getQuantity() < movementDTO.getQuantity()) {
-            throw new RuntimeException("Insufficient quantity for transfer");
-        }
+        Location toLocation = locationReference(movementDTO.getToLocationId(), "Destination location not found");
         
         Movement movement = Movement.builder()
                 .item(item)
@@ -59,60 +105,362 @@ public class MovementService {
                 .build();
         
         if (movementDTO.getFromLocationId() != null) {
-            Location fromLocation = locationRepository.findById(movementDTO.getFromLocationId())
-                    .orElseThrow(() -> new RuntimeException("Source location not found"));
+            Location fromLocation = locationReference(movementDTO.getFromLocationId(), "Source location not found");
             movement.setFromLocation(fromLocation);
         }
         
-        // Update item location and quantity
-        switch (movementDTO.getType()) {
-            case TRANSFER:
-                item.setQuantity(item.getQuantity() - movementDTO.getQuantity());
-                break;
-            case RECEIPT:
-                item.setQuantity(item.getQuantity() + movementDTO.getQuantity());
-                break;
-            case SHIPMENT:
-                item.setQuantity(item.getQuantity() - movementDTO.getQuantity());
-                break;
-            case ADJUSTMENT:
-                item.setQuantity(movementDTO.getQuantity());
-                break;
+        StockSummaryService.ItemStock before = StockSummaryService.ItemStock.of(item,
+                stockLevelRepository.findHeldQuantities(List.of(item.getId())));
+        Long sourceLocationId = null;
+        if (takesFromSource(movementDTO.getType())) {
+            sourceLocationId = movementDTO.getFromLocationId() != null
+                    ? movementDTO.getFromLocationId() : before.locationId();
+            if (sourceLocationId == null) {
+                throw new RuntimeException("Source location is required for "
+                        + movementDTO.getType().name().toLowerCase());
+            }
+            if (movement.getFromLocation() == null) {
+                // the ledger records where stock came from, so it can be replayed per location
+                movement.setFromLocation(item.getLocation());
+            }
         }
         
-        item.setLocation(toLocation);
-        itemRepository.save(item);
+        LowStockAlertService.StockPosition position = LowStockAlertService.StockPosition.of(item);
+        // Per-location stock is changed with conditional UPDATE statements, so the database enforces
+        // that no location goes negative. The total is changed on the locked item itself: a bulk
+        // statement on items would evict every item from the second-level cache.
+        StockSummaryService.ItemStock after = applyStockChange(item, movementDTO.getType(),
+                movementDTO.getQuantity(), before, sourceLocationId, toLocation.getId());
+        int quantityAfter = after.quantity();
+        if (before.locationId() == null) {
+            // the first location an item is moved to becomes its home location
+            item.setLocation(toLocation);
+            after = after.withLocationId(toLocation.getId());
+        }
+        stockSummaryService.recordChange(before, after);
+        lowStockAlerts.recordChange(item, position, position.withQuantity(quantityAfter));
+        // the item row lock serializes writers of this item, so max + 1 is free
+        movement.setSequenceNumber(lastSequenceNumber(item.getId()) + 1);
+        movement.setQuantityAfter(quantityAfter);
         
         Movement savedMovement = movementRepository.save(movement);
+        movementRollups.recordMovements(List.of(savedMovement));
+        recordCreated(savedMovement);
         return convertToDTO(savedMovement);
     }
     
-    public List<MovementDTO> getMovementsByItem(Long itemId) {
-        return movementRepository.findByItemId(itemId).stream()
+    /**
+     * Ingests a batch of movements in one transaction. Referenced items and locations are resolved
+     * with a few IN queries, quantity changes are applied in request order to the row-locked items
+     * and their stock levels in memory, and items and movements are flushed through JDBC batches. The batch is
+     * all-or-nothing: the first invalid movement rolls the whole batch back.
+     */
+    @Timed(value = "inventory.movements.create.batch", description = "Batched movement write", histogram = true)
+    public List<MovementDTO> createMovements(List<MovementDTO> movementDTOs) {
+        if (movementDTOs.isEmpty()) {
+            throw new RuntimeException("Movement batch is empty");
+        }
+        if (movementDTOs.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("Movement batch exceeds " + MAX_BATCH_SIZE + " movements");
+        }
+        
+        Map<Long, Item> items = new HashMap<>();
+        List<Long> itemIds = movementDTOs.stream()
+                .map(MovementDTO::getItemId)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        for (List<Long> chunk : Batches.partition(itemIds, Batches.IN_CLAUSE_SIZE)) {
+            itemRepository.findAllByIdInForUpdate(chunk).forEach(item -> items.put(item.getId(), item));
+        }
+        Map<Long, LowStockAlertService.StockPosition> positionsBefore = items.values().stream()
+                .collect(Collectors.toMap(Item::getId, LowStockAlertService.StockPosition::of));
+        
+        Map<Long, Long> sequenceNumbers = new HashMap<>();
+        for (List<Long> chunk : Batches.partition(itemIds, Batches.IN_CLAUSE_SIZE)) {
+            movementRepository.findLastSequenceNumbers(chunk)
+                    .forEach(last -> sequenceNumbers.put(last.getItemId(), last.getSequenceNumber()));
+        }
+        // items without hot movements may continue a ledger that has been archived
+        List<Long> archivedOnly = itemIds.stream()
+                .filter(itemId -> !sequenceNumbers.containsKey(itemId))
+                .collect(Collectors.toList());
+        for (List<Long> chunk : Batches.partition(archivedOnly, Batches.IN_CLAUSE_SIZE)) {
+            movementArchiveRepository.findLastSequenceNumbers(chunk)
+                    .forEach(last -> sequenceNumbers.put(last.getItemId(), last.getSequenceNumber()));
+        }
+        
+        Map<StockLevel.Key, StockLevel> stockLevels = new HashMap<>();
+        for (List<Long> chunk : Batches.partition(itemIds, Batches.IN_CLAUSE_SIZE)) {
+            stockLevelRepository.findByItemIdIn(chunk).forEach(level -> stockLevels.put(
+                    new StockLevel.Key(level.getItemId(), level.getLocationId()), level));
+        }
+        List<StockSummaryService.ItemStock> before = StockSummaryService.ItemStock.of(items.values(),
+                heldQuantities(stockLevels));
+        
+        Map<Long, Location> locations = new HashMap<>();
+        List<Long> locationIds = movementDTOs.stream()
+                .flatMap(dto -> Stream.of(dto.getToLocationId(), dto.getFromLocationId()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        for (List<Long> chunk : Batches.partition(locationIds, Batches.IN_CLAUSE_SIZE)) {
+            locationRepository.findAllById(chunk).forEach(location -> locations.put(location.getId(), location));
+        }
+        
+        List<Movement> movements = new ArrayList<>(movementDTOs.size());
+        for (int i = 0; i < movementDTOs.size(); i++) {
+            MovementDTO dto = movementDTOs.get(i);
+            Item item = items.get(dto.getItemId());
+            if (item == null) {
+                throw new RuntimeException("Movement #" + i + ": Item not found");
+            }
+            Location toLocation = locations.get(dto.getToLocationId());
+            if (toLocation == null) {
+                throw new RuntimeException("Movement #" + i + ": Destination location not found");
+            }
+            Location fromLocation = null;
+            if (dto.getFromLocationId() != null) {
+                fromLocation = locations.get(dto.getFromLocationId());
+                if (fromLocation == null) {
+                    throw new RuntimeException("Movement #" + i + ": Source location not found");
+                }
+            }
+            
+            Long sourceLocationId = null;
+            if (takesFromSource(dto.getType())) {
+                sourceLocationId = fromLocation != null ? fromLocation.getId()
+                        : item.getLocation() != null ? item.getLocation().getId() : null;
+                if (sourceLocationId == null) {
+                    throw new RuntimeException("Movement #" + i + ": Source location is required for "
+                            + dto.getType().name().toLowerCase());
+                }
+                if (fromLocation == null) {
+                    fromLocation = item.getLocation();
+                }
+            }
+            
+            if (!applyStockChange(item, dto.getType(), dto.getQuantity(), sourceLocationId, toLocation.getId(),
+                    stockLevels)) {
+                throw new RuntimeException("Movement #" + i + ": Insufficient quantity for "
+                        + dto.getType().name().toLowerCase());
+            }
+            if (item.getLocation() == null) {
+                item.setLocation(toLocation);
+            }
+            
+            movements.add(Movement.builder()
+                    .item(item)
+                    .fromLocation(fromLocation)
+                    .toLocation(toLocation)
+                    .quantity(dto.getQuantity())
+                    .type(dto.getType())
+                    .notes(dto.getNotes())
+                    .performedBy(dto.getPerformedBy())
+                    .sequenceNumber(sequenceNumbers.merge(item.getId(), 1L, Long::sum))
+                    .quantityAfter(item.getQuantity())
+                    .build());
+        }
+        
+        stockLevels.values().stream()
+                .filter(level -> !entityManager.contains(level))
+                .forEach(entityManager::persist);
+        stockSummaryService.recordChanges(before, StockSummaryService.ItemStock.of(items.values(),
+                heldQuantities(stockLevels)));
+        // only the net change of the batch counts: an item that dips and recovers within it raises nothing
+        items.values().forEach(item -> lowStockAlerts.recordChange(item, positionsBefore.get(item.getId()),
+                LowStockAlertService.StockPosition.of(item)));
+        
+        List<Movement> savedMovements = movementRepository.saveAll(movements);
+        movementRollups.recordMovements(savedMovements);
+        savedMovements.forEach(this::recordCreated);
+        return savedMovements.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public List<MovementDTO> getMovementsByItem(Long itemId) {
+        return Stream.concat(movementArchiveRepository.findMovementDTOsByItemId(itemId).stream(),
+                        movementRepository.findMovementDTOsByItemId(itemId).stream())
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
     public List<MovementDTO> getMovementsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return movementRepository.findByDateRange(startDate, endDate).stream()
-                .map(this::convertToDTO)
+        return Stream.concat(movementArchiveRepository.findMovementDTOsByDateRange(startDate, endDate).stream(),
+                        movementRepository.findMovementDTOsByDateRange(startDate, endDate).stream())
                 .collect(Collectors.toList());
     }
     
+    /**
+     * One id-ordered page over both tables. Ids are not split at the archive cutoff (a backdated
+     * movement can be archived before older ids), so both are read and merged.
+     */
+    private List<MovementDTO> findMovementDTOsAfter(Long after, Limit limit) {
+        return Stream.concat(movementArchiveRepository.findMovementDTOsAfter(after, limit).stream(),
+                        movementRepository.findMovementDTOsAfter(after, limit).stream())
+                .sorted(Comparator.comparing(MovementDTO::getId))
+                .limit(limit.max())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Movements change stock without an item event of their own: {@code quantityAfter} in the
+     * movement's data is the item's new total.
+     */
+    private void recordCreated(Movement movement) {
+        // resolved after commit, once movementDate has been generated
+        changeFeed.recordChange(ChangeEventDTO.EntityType.MOVEMENT, ChangeEventDTO.ChangeType.CREATED,
+                movement.getId(), () -> convertToDTO(movement));
+    }
+    
+    /**
+     * Archived entries are older than any hot one, so the archive is only consulted for items
+     * without hot entries.
+     */
+    private long lastSequenceNumber(Long itemId) {
+        long last = movementRepository.findLastSequenceNumber(itemId);
+        return last > 0 ? last : movementArchiveRepository.findLastSequenceNumber(itemId);
+    }
+    
+    /** TRANSFER and SHIPMENT take stock out of a source location: the given one or the item's home. */
+    private static boolean takesFromSource(Movement.MovementType type) {
+        return type == Movement.MovementType.TRANSFER || type == Movement.MovementType.SHIPMENT;
+    }
+    
+    /**
+     * Applies one movement to the item's per-location stock and total and returns the item's new
+     * stock. A transfer moves stock between locations and leaves the total alone; an adjustment
+     * replaces what the destination held with the counted quantity.
+     */
+    private StockSummaryService.ItemStock applyStockChange(Item item, Movement.MovementType type, int quantity,
+                                                           StockSummaryService.ItemStock before,
+                                                           Long sourceLocationId, Long toLocationId) {
+        Long itemId = item.getId();
+        switch (type) {
+            case TRANSFER:
+                requireUpdated(stockLevelRepository.takeQuantity(itemId, sourceLocationId, quantity), type);
+                stockLevelRepository.addQuantity(itemId, toLocationId, quantity);
+                StockSummaryService.ItemStock taken = before.withHeld(sourceLocationId,
+                        before.heldAt(sourceLocationId) - quantity);
+                return taken.withHeld(toLocationId, taken.heldAt(toLocationId) + quantity);
+            case SHIPMENT:
+                requireUpdated(stockLevelRepository.takeQuantity(itemId, sourceLocationId, quantity), type);
+                requireAvailable(item.getQuantity() >= quantity, type);
+                item.setQuantity(item.getQuantity() - quantity);
+                return before.withQuantity(item.getQuantity())
+                        .withHeld(sourceLocationId, before.heldAt(sourceLocationId) - quantity);
+            case RECEIPT:
+            case RETURN:
+                stockLevelRepository.addQuantity(itemId, toLocationId, quantity);
+                item.setQuantity(item.getQuantity() + quantity);
+                return before.withQuantity(item.getQuantity())
+                        .withHeld(toLocationId, before.heldAt(toLocationId) + quantity);
+            case ADJUSTMENT:
+                stockLevelRepository.setQuantity(itemId, toLocationId, quantity);
+                item.setQuantity(before.quantity() - before.heldAt(toLocationId) + quantity);
+                return before.withQuantity(item.getQuantity()).withHeld(toLocationId, quantity);
+            default:
+                throw new IllegalStateException("Unhandled movement type " + type);
+        }
+    }
+    
+    private static void requireUpdated(int updatedRows, Movement.MovementType type) {
+        requireAvailable(updatedRows > 0, type);
+    }
+    
+    private static void requireAvailable(boolean available, Movement.MovementType type) {
+        if (!available) {
+            throw new RuntimeException("Insufficient quantity for " + type.name().toLowerCase());
+        }
+    }
+    
+    /**
+     * In-memory counterpart of
+     * {@link #applyStockChange(Item, Movement.MovementType, int, StockSummaryService.ItemStock, Long, Long)}
+     * for items already locked by the caller, over their preloaded stock levels. Returns false when
+     * the source location does not hold enough.
+     */
+    private boolean applyStockChange(Item item, Movement.MovementType type, int quantity,
+                                     Long sourceLocationId, Long toLocationId,
+                                     Map<StockLevel.Key, StockLevel> stockLevels) {
+        switch (type) {
+            case TRANSFER:
+            case SHIPMENT:
+                StockLevel source = stockLevels.get(new StockLevel.Key(item.getId(), sourceLocationId));
+                if (source == null || source.getQuantity() < quantity || item.getQuantity() < quantity) {
+                    return false;
+                }
+                source.setQuantity(source.getQuantity() - quantity);
+                if (type == Movement.MovementType.TRANSFER) {
+                    StockLevel destination = stockLevel(stockLevels, item.getId(), toLocationId);
+                    destination.setQuantity(destination.getQuantity() + quantity);
+                } else {
+                    item.setQuantity(item.getQuantity() - quantity);
+                }
+                return true;
+            case RECEIPT:
+            case RETURN:
+                StockLevel received = stockLevel(stockLevels, item.getId(), toLocationId);
+                received.setQuantity(received.getQuantity() + quantity);
+                item.setQuantity(item.getQuantity() + quantity);
+                return true;
+            case ADJUSTMENT:
+                StockLevel counted = stockLevel(stockLevels, item.getId(), toLocationId);
+                item.setQuantity(item.getQuantity() - counted.getQuantity() + quantity);
+                counted.setQuantity(quantity);
+                return true;
+            default:
+                throw new IllegalStateException("Unhandled movement type " + type);
+        }
+    }
+    
+    private static List<StockLevelRepository.HeldQuantity> heldQuantities(Map<StockLevel.Key, StockLevel> stockLevels) {
+        return stockLevels.values().stream()
+                .map(StockLevelRepository.HeldQuantity::of)
+                .collect(Collectors.toList());
+    }
+    
+    private static StockLevel stockLevel(Map<StockLevel.Key, StockLevel> stockLevels, Long itemId, Long locationId) {
+        return stockLevels.computeIfAbsent(new StockLevel.Key(itemId, locationId),
+                key -> StockLevel.builder().itemId(itemId).locationId(locationId).quantity(0).build());
+    }
+    
+    /**
+     * Validates the id against the reference data cache and returns an unloaded proxy.
+     */
+    private Location locationReference(Long locationId, String notFoundMessage) {
+        if (referenceData.findLocation(locationId) == null) {
+            throw new RuntimeException(notFoundMessage);
+        }
+        return locationRepository.getReferenceById(locationId);
+    }
+    
+    private String locationName(Location location) {
+        if (location == null) {
+            return null;
+        }
+        LocationDTO cached = referenceData.findLocation(location.getId());
+        return cached != null ? cached.getName() : null;
+    }
+    
     private MovementDTO convertToDTO(Movement movement) {
         return MovementDTO.builder()
                 .id(movement.getId())
                 .itemId(movement.getItem().getId())
                 .itemName(movement.getItem().getName())
                 .fromLocationId(movement.getFromLocation() != null ? movement.getFromLocation().getId() : null)
-                .fromLocationName(movement.getFromLocation() != null ? movement.getFromLocation().getName() : null)
+                .fromLocationName(locationName(movement.getFromLocation()))
                 .toLocationId(movement.getToLocation().getId())
-                .toLocationName(movement.getToLocation().getName())
+                .toLocationName(locationName(movement.getToLocation()))
                 .quantity(movement.getQuantity())
                 .type(movement.getType())
                 .notes(movement.getNotes())
                 .movementDate(movement.getMovementDate())
                 .performedBy(movement.getPerformedBy())
+                .sequenceNumber(movement.getSequenceNumber())
+                .quantityAfter(movement.getQuantityAfter())
                 .build();
     }
 }
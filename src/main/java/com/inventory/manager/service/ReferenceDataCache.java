@@ -0,0 +1,111 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.dto.SupplierDTO;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Supplier;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.SupplierRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read-through cache of locations and suppliers, which are read on every item and movement
+ * write but rarely change.
+ *
+ * <p>Entries are detached DTO snapshots without {@code itemCount} (that changes with every
+ * item write) and must not be modified by callers. Missing ids are not cached. Writers evict
+ * the affected entries through {@link #evictLocation} / {@link #evictSupplier}, both right away
+ * and again after commit so a concurrent reader cannot re-cache the old row.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReferenceDataCache {
+    
+    public static final String LOCATIONS = "locations";
+    public static final String LOCATIONS_BY_CODE = "locationsByCode";
+    public static final String SUPPLIERS = "suppliers";
+    
+    private final LocationRepository locationRepository;
+    private final SupplierRepository supplierRepository;
+    private final CacheManager cacheManager;
+    
+    @Cacheable(cacheNames = LOCATIONS, unless = "#result == null")
+    public LocationDTO findLocation(Long id) {
+        return locationRepository.findById(id)
+                .map(ReferenceDataCache::snapshot)
+                .orElse(null);
+    }
+    
+    @Cacheable(cacheNames = LOCATIONS_BY_CODE, unless = "#result == null")
+    public LocationDTO findLocationByCode(String code) {
+        return locationRepository.findByCode(code)
+                .map(ReferenceDataCache::snapshot)
+                .orElse(null);
+    }
+    
+    @Cacheable(cacheNames = SUPPLIERS, unless = "#result == null")
+    public SupplierDTO findSupplier(Long id) {
+        return supplierRepository.findById(id)
+                .map(ReferenceDataCache::snapshot)
+                .orElse(null);
+    }
+    
+    /**
+     * @param codes every code the location had or now has, so no stale by-code entry survives
+     */
+    public void evictLocation(Long id, String... codes) {
+        Runnable evict = () -> {
+            evict(LOCATIONS, id);
+            for (String code : codes) {
+                if (code != null) {
+                    evict(LOCATIONS_BY_CODE, code);
+                }
+            }
+        };
+        evict.run();
+        AfterCommit.run(evict);
+    }
+    
+    public void evictSupplier(Long id) {
+        evict(SUPPLIERS, id);
+        AfterCommit.run(() -> evict(SUPPLIERS, id));
+    }
+    
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+    
+    private static LocationDTO snapshot(Location location) {
+        return LocationDTO.builder()
+                .id(location.getId())
+                .name(location.getName())
+                .address(location.getAddress())
+                .code(location.getCode())
+                .type(location.getType())
+                .createdAt(location.getCreatedAt())
+                .updatedAt(location.getUpdatedAt())
+                .build();
+    }
+    
+    private static SupplierDTO snapshot(Supplier supplier) {
+        return SupplierDTO.builder()
+                .id(supplier.getId())
+                .name(supplier.getName())
+                .email(supplier.getEmail())
+                .phone(supplier.getPhone())
+                .address(supplier.getAddress())
+                .contactPerson(supplier.getContactPerson())
+                .createdAt(supplier.getCreatedAt())
+                .updatedAt(supplier.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,35 +1,193 @@
 package com.inventory.manager.service;
 
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.LocationDTO;
 import com.inventory.manager.dto.StockReportDTO;
 import com.inventory.manager.entity.Item;
 import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ReportService {
     
+    /** Rows kept in memory by SXSSF; older rows are flushed to a compressed temp file. */
+    static final int EXCEL_ROW_WINDOW = 100;
+    
+    private static final String[] EXCEL_HEADERS = {
+            "Item ID", "Item Name", "SKU", "Quantity", "Unit Price", "Total Value",
+            "Location", "Supplier", "Status"
+    };
+    
     private final ItemRepository itemRepository;
+    private final StockLevelRepository stockLevelRepository;
+    private final StockLedgerService stockLedgerService;
+    private final ReferenceDataCache referenceData;
     
+    @Timed(value = "inventory.reports.stock", description = "Stock report over all locations", histogram = true)
     public List<StockReportDTO> generateStockReport() {
         return itemRepository.findAll().stream()
                 .map(this::convertToStockReport)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Items held at one location with the quantity held there, read from {@code stock_levels}.
+     */
+    @Timed(value = "inventory.reports.stock.location", description = "Stock report for one location", histogram = true)
     public List<StockReportDTO> generateStockReportByLocation(Long locationId) {
-        return itemRepository.findByLocationId(locationId).stream()
-                .map(this::convertToStockReport)
+        return stockLevelRepository.findItemDTOsByLocationId(locationId).stream()
+                .map(item -> convertToStockReport(item, item.getQuantity(), item.getLocationName()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * The stock report as it stood at {@code asOf}: quantities and locations come from the ledger,
+     * names, prices and statuses are the current ones. Items deleted since are left out.
+     *
+     * <p>An item gets a row for every location holding some of it, as in the report by location.
+     * Stock the per-location ledger does not account for (items without a home location, snapshots
+     * older than the per-location copies) is reported at the home location; an item holding
+     * nothing gets one empty row there.
+     */
+    @Timed(value = "inventory.reports.stock.asof", description = "Point-in-time stock report", histogram = true)
+    public List<StockReportDTO> generateStockReportAsOf(LocalDateTime asOf) {
+        List<StockLedgerService.ItemStockAsOf> stock = stockLedgerService.getStockAsOf(asOf);
+        Map<Long, List<StockLedgerService.LocationStockAsOf>> held = stockLedgerService.getStockByLocationAsOf(asOf)
+                .stream()
+                .collect(Collectors.groupingBy(StockLedgerService.LocationStockAsOf::itemId));
+        Map<Long, ItemDTO> items = new HashMap<>();
+        List<Long> itemIds = stock.stream().map(StockLedgerService.ItemStockAsOf::itemId).collect(Collectors.toList());
+        for (List<Long> chunk : Batches.partition(itemIds, Batches.IN_CLAUSE_SIZE)) {
+            itemRepository.findItemDTOsByIdIn(chunk).forEach(item -> items.put(item.getId(), item));
+        }
+        
+        return stock.stream()
+                .filter(row -> items.containsKey(row.itemId()))
+                .flatMap(row -> convertToStockReports(items.get(row.itemId()), row,
+                        held.getOrDefault(row.itemId(), List.of())))
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Writes the stock report as .xlsx to the given stream. Rows come from a scrolling
+     * projection query and go through a windowed SXSSF workbook, so heap usage does not
+     * depend on the number of items.
+     *
+     * @param locationId restricts the report to the stock held at one location, or {@code null} for all items
+     */
+    @Timed(value = "inventory.reports.stock.export", description = "Stock report .xlsx export", histogram = true)
+    public void exportStockReport(Long locationId, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try (workbook; Stream<ItemDTO> items = locationId != null
+                ? stockLevelRepository.streamItemDTOsByLocationId(locationId)
+                : itemRepository.streamAllItemDTOs()) {
+            Sheet sheet = workbook.createSheet("Stock Report");
+            sheet.createFreezePane(0, 1);
+            writeHeader(workbook, sheet);
+            
+            CellStyle moneyStyle = workbook.createCellStyle();
+            moneyStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+            
+            int[] rowIndex = {1};
+            items.forEach(item -> writeRow(sheet.createRow(rowIndex[0]++), item, moneyStyle));
+            
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+        }
+    }
+    
+    private void writeHeader(SXSSFWorkbook workbook, Sheet sheet) {
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        CellStyle headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+        
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < EXCEL_HEADERS.length; i++) {
+            header.createCell(i).setCellValue(EXCEL_HEADERS[i]);
+            header.getCell(i).setCellStyle(headerStyle);
+            sheet.setColumnWidth(i, 18 * 256);
+        }
+    }
+    
+    private void writeRow(Row row, ItemDTO item, CellStyle moneyStyle) {
+        BigDecimal totalValue = item.getUnitPrice()
+                .multiply(BigDecimal.valueOf(item.getQuantity()));
+        
+        row.createCell(0).setCellValue(item.getId());
+        row.createCell(1).setCellValue(item.getName());
+        row.createCell(2).setCellValue(item.getSku());
+        row.createCell(3).setCellValue(item.getQuantity());
+        row.createCell(4).setCellValue(item.getUnitPrice().doubleValue());
+        row.getCell(4).setCellStyle(moneyStyle);
+        row.createCell(5).setCellValue(totalValue.doubleValue());
+        row.getCell(5).setCellStyle(moneyStyle);
+        row.createCell(6).setCellValue(item.getLocationName() != null ? item.getLocationName() : "N/A");
+        row.createCell(7).setCellValue(item.getSupplierName() != null ? item.getSupplierName() : "N/A");
+        row.createCell(8).setCellValue(item.getStatus() != null ? item.getStatus().toString() : "");
+    }
+    
+    private String locationName(Long locationId) {
+        LocationDTO location = locationId != null ? referenceData.findLocation(locationId) : null;
+        return location != null ? location.getName() : null;
+    }
+    
+    private Stream<StockReportDTO> convertToStockReports(ItemDTO item, StockLedgerService.ItemStockAsOf stock,
+                                                         List<StockLedgerService.LocationStockAsOf> held) {
+        // a null key stands for no location
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        int unheld = stock.quantity();
+        for (StockLedgerService.LocationStockAsOf level : held) {
+            quantities.put(level.locationId(), level.quantity());
+            unheld -= level.quantity();
+        }
+        if (unheld > 0) {
+            quantities.merge(stock.locationId(), unheld, Integer::sum);
+        } else if (quantities.isEmpty()) {
+            quantities.put(stock.locationId(), 0);
+        }
+        return quantities.entrySet().stream()
+                .map(entry -> convertToStockReport(item, entry.getValue(), locationName(entry.getKey())));
+    }
+    
+    private StockReportDTO convertToStockReport(ItemDTO item, int quantity, String locationName) {
+        return StockReportDTO.builder()
+                .itemId(item.getId())
+                .itemName(item.getName())
+                .sku(item.getSku())
+                .quantity(quantity)
+                .unitPrice(item.getUnitPrice())
+                .totalValue(item.getUnitPrice().multiply(BigDecimal.valueOf(quantity)))
+                .locationName(locationName != null ? locationName : "N/A")
+                .supplierName(item.getSupplierName() != null ? item.getSupplierName() : "N/A")
+                .status(item.getStatus().toString())
+                .build();
+    }
+    
     private StockReportDTO convertToStockReport(Item item) {
         BigDecimal totalValue = item.getUnitPrice()
                 .multiply(BigDecimal.valueOf(item.getQuantity()));
@@ -0,0 +1,48 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ChangeEventDTO;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters per entity type, bumped on every write recorded in the {@link ChangeFeed}, from
+ * which read endpoints derive strong ETags. A request whose {@code If-None-Match} still matches can
+ * be answered with {@code 304 Not Modified} before anything is read or converted.
+ *
+ * <p>A write bumps its counter twice: when it is recorded inside its transaction and again after
+ * commit. A response built while the write is in flight therefore carries a version that is stale
+ * once the write is visible, and no client keeps old data under a current ETag. A rolled back write
+ * only costs clients one full response.
+ *
+ * <p>Counters live in this process. ETags carry a random epoch, so after a restart or on another
+ * instance they never match and clients get a full response. Writes that bypass the services
+ * (manual SQL, restores) go unnoticed until the next write of the same type.
+ */
+@Service
+public class ResourceVersions {
+    
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLongArray versions = new AtomicLongArray(ChangeEventDTO.EntityType.values().length);
+    
+    /**
+     * Marks a write of {@code entity}, now and once more after the surrounding transaction commits.
+     */
+    void recordChange(ChangeEventDTO.EntityType entity) {
+        versions.incrementAndGet(entity.ordinal());
+        AfterCommit.run(() -> versions.incrementAndGet(entity.ordinal()));
+    }
+    
+    /**
+     * Strong ETag over the current versions of the entity types a response is built from. Compute it
+     * before reading the data, so a concurrent write can only make it stale, never too new.
+     */
+    public String etag(ChangeEventDTO.EntityType... sources) {
+        StringBuilder etag = new StringBuilder("\"").append(epoch);
+        for (ChangeEventDTO.EntityType source : sources) {
+            etag.append('-').append(versions.get(source.ordinal()));
+        }
+        return etag.append('"').toString();
+    }
+}
@@ -0,0 +1,147 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.entity.StockSnapshot;
+import com.inventory.manager.repository.StockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Point-in-time stock from the movement ledger.
+ *
+ * <p>Snapshots copy every item's quantity and location periodically. The stock at time T is the
+ * latest snapshot taken at or before T, overridden per item by the last ledger entry after it
+ * (each entry carries the quantity after the movement), so a query reads one snapshot and a short
+ * ledger tail instead of replaying the whole history.
+ *
+ * <p>The location reported per item is its home location: the one in the snapshot, or the current
+ * one for items that moved since. Stock per location comes the same way from the snapshot's copy
+ * of {@code stock_levels}, rolled forward by what each later ledger entry did at its source and
+ * destination.
+ *
+ * <p>Only movements are ledger entries. Quantities edited directly through the item API reach
+ * point-in-time reports with the next snapshot, and items created after the snapshot appear once
+ * they have moved.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StockLedgerService {
+    
+    private final StockSnapshotRepository stockSnapshotRepository;
+    
+    /**
+     * Quantity and location of one item at the requested point in time.
+     */
+    public record ItemStockAsOf(Long itemId, Long locationId, int quantity) {
+    }
+    
+    /**
+     * Quantity one item held at one location at the requested point in time.
+     */
+    public record LocationStockAsOf(Long itemId, Long locationId, int quantity) {
+    }
+    
+    @Scheduled(fixedDelayString = "${inventory.ledger.snapshot-interval:PT1H}",
+            initialDelayString = "${inventory.ledger.snapshot-interval:PT1H}")
+    public void takeSnapshot() {
+        StockSnapshot snapshot = stockSnapshotRepository.save(StockSnapshot.builder()
+                .takenAt(LocalDateTime.now())
+                .build());
+        stockSnapshotRepository.insertItems(snapshot.getId());
+        stockSnapshotRepository.insertLevels(snapshot.getId());
+        // stamped after the copy: every movement in the snapshot is dated before taken_at, and any
+        // movement missing from it has a higher sequence number and is picked up as ledger tail
+        snapshot.setTakenAt(LocalDateTime.now());
+    }
+    
+    /**
+     * Stock of every item at {@code asOf}, ordered by item id.
+     *
+     * @throws RuntimeException when {@code asOf} is earlier than the oldest snapshot
+     */
+    @Transactional(readOnly = true)
+    public List<ItemStockAsOf> getStockAsOf(LocalDateTime asOf) {
+        StockSnapshot snapshot = snapshotAsOf(asOf);
+        
+        Map<Long, ItemStockAsOf> stock = new TreeMap<>();
+        stockSnapshotRepository.findSnapshotItems(snapshot.getId()).forEach(row -> put(stock, row));
+        // in ledger order, so the last entry of each item wins
+        stockSnapshotRepository.findLedgerTail(snapshot.getId(), asOf).forEach(row -> put(stock, row));
+        return List.copyOf(stock.values());
+    }
+    
+    /**
+     * Stock each item held at each location at {@code asOf}, ordered by item and location. Only
+     * locations holding stock are listed. Snapshots taken before per-location copies existed only
+     * contribute the ledger tail, so the rest of an item's stock is not placed anywhere.
+     *
+     * @throws RuntimeException when {@code asOf} is earlier than the oldest snapshot
+     */
+    @Transactional(readOnly = true)
+    public List<LocationStockAsOf> getStockByLocationAsOf(LocalDateTime asOf) {
+        StockSnapshot snapshot = snapshotAsOf(asOf);
+        
+        Map<Long, Map<Long, Integer>> held = new TreeMap<>();
+        Map<Long, Long> includedThrough = new HashMap<>();
+        for (StockSnapshotRepository.LevelStock row : stockSnapshotRepository.findSnapshotLevels(snapshot.getId())) {
+            held.computeIfAbsent(row.itemId(), itemId -> new TreeMap<>()).put(row.locationId(), row.quantity());
+            includedThrough.put(row.itemId(), row.sequenceNumber());
+        }
+        // entries without a recorded source took from the item's home location
+        Map<Long, Long> homes = new HashMap<>();
+        stockSnapshotRepository.findSnapshotItems(snapshot.getId())
+                .forEach(row -> homes.put(row.itemId(), row.locationId()));
+        
+        for (StockSnapshotRepository.LedgerMovement entry
+                : stockSnapshotRepository.findLocationLedgerTail(snapshot.getId(), asOf)) {
+            if (entry.sequenceNumber() <= includedThrough.getOrDefault(entry.itemId(), 0L)) {
+                continue;
+            }
+            Map<Long, Integer> levels = held.computeIfAbsent(entry.itemId(), itemId -> new TreeMap<>());
+            Long source = entry.fromLocationId() != null ? entry.fromLocationId() : homes.get(entry.itemId());
+            switch (entry.type()) {
+                case TRANSFER -> {
+                    take(levels, source, entry.quantity());
+                    levels.merge(entry.toLocationId(), entry.quantity(), Integer::sum);
+                }
+                case SHIPMENT -> take(levels, source, entry.quantity());
+                case RECEIPT, RETURN -> levels.merge(entry.toLocationId(), entry.quantity(), Integer::sum);
+                case ADJUSTMENT -> levels.put(entry.toLocationId(), entry.quantity());
+            }
+            // the first location an item is moved to becomes its home location
+            homes.putIfAbsent(entry.itemId(), entry.toLocationId());
+        }
+        
+        List<LocationStockAsOf> stock = new ArrayList<>();
+        held.forEach((itemId, levels) -> levels.forEach((locationId, quantity) -> {
+            if (quantity > 0) {
+                stock.add(new LocationStockAsOf(itemId, locationId, quantity));
+            }
+        }));
+        return stock;
+    }
+    
+    private StockSnapshot snapshotAsOf(LocalDateTime asOf) {
+        return stockSnapshotRepository.findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(asOf)
+                .orElseThrow(() -> new RuntimeException("No stock snapshot at or before " + asOf));
+    }
+    
+    private static void take(Map<Long, Integer> levels, Long locationId, int quantity) {
+        if (locationId != null) {
+            levels.merge(locationId, -quantity, Integer::sum);
+        }
+    }
+    
+    private static void put(Map<Long, ItemStockAsOf> stock, StockSnapshotRepository.LedgerStock row) {
+        stock.put(row.itemId(), new ItemStockAsOf(row.itemId(), row.locationId(), row.quantity()));
+    }
+}
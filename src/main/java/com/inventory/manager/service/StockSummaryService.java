@@ -0,0 +1,241 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.StockSummaryDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.StockSummary;
+import com.inventory.manager.repository.StockLevelRepository;
+import com.inventory.manager.repository.StockSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@code stock_summaries} aggregates in step with item changes and serves them.
+ *
+ * <p>Writers pass the state of each item they touched before and after the change (taken while
+ * the item row is locked); the difference is applied to the affected location and supplier rows
+ * inside the caller's transaction. Reads are proportional to the number of locations or
+ * suppliers, not items.
+ *
+ * <p>Location rows follow {@code stock_levels}, like {@code /api/reports/stock/location/{id}}: an
+ * item counts at every location holding some of it, with the quantity held there, so a transfer
+ * moves stock between two location rows. Stock not held at any location (items without a home
+ * location) is unassigned. Supplier rows count every item once, with its total.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StockSummaryService {
+    
+    private static final Comparator<Key> KEY_ORDER = Comparator
+            .comparing(Key::dimension)
+            .thenComparing(Key::dimensionId)
+            .thenComparing(Key::status);
+    
+    private final StockSummaryRepository stockSummaryRepository;
+    
+    /**
+     * The part of an item that contributes to the aggregates, with the quantity it holds at each
+     * location ({@code held}, positive entries only).
+     */
+    public record ItemStock(Long locationId, Long supplierId, Item.ItemStatus status,
+                            int quantity, BigDecimal unitPrice, Map<Long, Integer> held) {
+        
+        /**
+         * {@code held} are the item's stock levels; rows of other items are ignored.
+         */
+        public static ItemStock of(Item item, Collection<StockLevelRepository.HeldQuantity> held) {
+            Map<Long, Integer> byLocation = new HashMap<>();
+            held.stream()
+                    .filter(row -> row.itemId().equals(item.getId()) && row.quantity() > 0)
+                    .forEach(row -> byLocation.put(row.locationId(), row.quantity()));
+            return new ItemStock(
+                    item.getLocation() != null ? item.getLocation().getId() : null,
+                    item.getSupplier() != null ? item.getSupplier().getId() : null,
+                    item.getStatus(),
+                    item.getQuantity(),
+                    item.getUnitPrice(),
+                    Map.copyOf(byLocation));
+        }
+        
+        /**
+         * Same for several items, over the stock levels of all of them.
+         */
+        public static List<ItemStock> of(Collection<Item> items,
+                                         Collection<StockLevelRepository.HeldQuantity> held) {
+            Map<Long, List<StockLevelRepository.HeldQuantity>> byItem = held.stream()
+                    .collect(Collectors.groupingBy(StockLevelRepository.HeldQuantity::itemId));
+            return items.stream()
+                    .map(item -> of(item, byItem.getOrDefault(item.getId(), List.of())))
+                    .collect(Collectors.toList());
+        }
+        
+        /**
+         * A new item, which holds its whole quantity at its home location.
+         */
+        public static ItemStock ofNewItem(Item item) {
+            if (item.getLocation() == null) {
+                return of(item, List.of());
+            }
+            return of(item, List.of(new StockLevelRepository.HeldQuantity(
+                    item.getId(), item.getLocation().getId(), item.getQuantity())));
+        }
+        
+        public int heldAt(Long heldLocationId) {
+            return held.getOrDefault(heldLocationId, 0);
+        }
+        
+        public ItemStock withQuantity(int newQuantity) {
+            return new ItemStock(locationId, supplierId, status, newQuantity, unitPrice, held);
+        }
+        
+        public ItemStock withLocationId(Long newLocationId) {
+            return new ItemStock(newLocationId, supplierId, status, quantity, unitPrice, held);
+        }
+        
+        public ItemStock withHeld(Long heldLocationId, int heldQuantity) {
+            Map<Long, Integer> newHeld = new HashMap<>(held);
+            if (heldQuantity > 0) {
+                newHeld.put(heldLocationId, heldQuantity);
+            } else {
+                newHeld.remove(heldLocationId);
+            }
+            return new ItemStock(locationId, supplierId, status, quantity, unitPrice, Map.copyOf(newHeld));
+        }
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(ItemStock before, ItemStock after) {
+        recordChanges(before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of());
+    }
+    
+    /**
+     * Subtracts {@code removed} and adds {@code added}. Deltas are netted per aggregate row and
+     * applied in a fixed row order, so concurrent writers cannot deadlock on the aggregate rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(Collection<ItemStock> removed, Collection<ItemStock> added) {
+        Map<Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        removed.forEach(stock -> accumulate(deltas, stock, -1));
+        added.forEach(stock -> accumulate(deltas, stock, 1));
+        
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                stockSummaryRepository.addDelta(key.dimension().name(), key.dimensionId(), key.status().name(),
+                        delta.itemCount, delta.quantity, delta.value);
+            }
+        });
+    }
+    
+    /**
+     * Recomputes every aggregate row from the items and stock levels tables. Used to repair the
+     * aggregates after out-of-band writes; regular changes go through {@link #recordChanges}.
+     */
+    public void rebuild() {
+        stockSummaryRepository.deleteAllRows();
+        stockSummaryRepository.insertFromItems();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<StockSummaryDTO> getLocationSummaries() {
+        return toDTOs(stockSummaryRepository.findLocationRows());
+    }
+    
+    @Transactional(readOnly = true)
+    public StockSummaryDTO getLocationSummary(Long locationId) {
+        List<StockSummaryDTO> summaries = toDTOs(stockSummaryRepository.findLocationRows(locationId));
+        if (summaries.isEmpty()) {
+            return StockSummaryDTO.builder()
+                    .id(locationId)
+                    .itemCount(0L)
+                    .totalQuantity(0L)
+                    .totalValue(BigDecimal.ZERO)
+                    .itemCountByStatus(new EnumMap<>(Item.ItemStatus.class))
+                    .build();
+        }
+        return summaries.get(0);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<StockSummaryDTO> getSupplierSummaries() {
+        return toDTOs(stockSummaryRepository.findSupplierRows());
+    }
+    
+    private void accumulate(Map<Key, Delta> deltas, ItemStock stock, int sign) {
+        Item.ItemStatus status = stock.status() != null ? stock.status() : Item.ItemStatus.AVAILABLE;
+        
+        int unheld = stock.quantity();
+        for (Map.Entry<Long, Integer> held : stock.held().entrySet()) {
+            add(deltas, new Key(StockSummary.Dimension.LOCATION, held.getKey(), status), sign, held.getValue(),
+                    stock.unitPrice());
+            unheld -= held.getValue();
+        }
+        if (unheld > 0) {
+            add(deltas, new Key(StockSummary.Dimension.LOCATION, StockSummary.UNASSIGNED, status), sign, unheld,
+                    stock.unitPrice());
+        }
+        add(deltas, new Key(StockSummary.Dimension.SUPPLIER, dimensionId(stock.supplierId()), status), sign,
+                stock.quantity(), stock.unitPrice());
+    }
+    
+    private static void add(Map<Key, Delta> deltas, Key key, int sign, int quantity, BigDecimal unitPrice) {
+        BigDecimal value = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        deltas.computeIfAbsent(key, k -> new Delta()).add(sign, quantity, value);
+    }
+    
+    private static long dimensionId(Long id) {
+        return id != null ? id : StockSummary.UNASSIGNED;
+    }
+    
+    private List<StockSummaryDTO> toDTOs(List<StockSummaryRepository.SummaryRow> rows) {
+        // rows arrive ordered by dimension id, one per status
+        Map<Long, StockSummaryDTO> summaries = new LinkedHashMap<>();
+        for (StockSummaryRepository.SummaryRow row : rows) {
+            StockSummaryDTO summary = summaries.computeIfAbsent(row.getDimensionId(), id -> StockSummaryDTO.builder()
+                    .id(id == StockSummary.UNASSIGNED ? null : id)
+                    .name(id == StockSummary.UNASSIGNED ? "Unassigned" : row.getName())
+                    .itemCount(0L)
+                    .totalQuantity(0L)
+                    .totalValue(BigDecimal.ZERO)
+                    .itemCountByStatus(new EnumMap<>(Item.ItemStatus.class))
+                    .build());
+            summary.setItemCount(summary.getItemCount() + row.getItemCount());
+            summary.setTotalQuantity(summary.getTotalQuantity() + row.getTotalQuantity());
+            summary.setTotalValue(summary.getTotalValue().add(row.getTotalValue()));
+            summary.getItemCountByStatus().put(row.getStatus(), row.getItemCount());
+        }
+        return new ArrayList<>(summaries.values());
+    }
+    
+    private record Key(StockSummary.Dimension dimension, long dimensionId, Item.ItemStatus status) {
+    }
+    
+    private static class Delta {
+        private long itemCount;
+        private long quantity;
+        private BigDecimal value = BigDecimal.ZERO;
+        
+        void add(int sign, int itemQuantity, BigDecimal itemValue) {
+            itemCount += sign;
+            quantity += (long) sign * itemQuantity;
+            value = sign > 0 ? value.add(itemValue) : value.subtract(itemValue);
+        }
+        
+        boolean isZero() {
+            return itemCount == 0 && quantity == 0 && value.signum() == 0;
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.inventory.manager.service;
 
+import com.inventory.manager.dto.ChangeEventDTO;
 import com.inventory.manager.dto.SupplierDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
 import com.inventory.manager.entity.Supplier;
+import com.inventory.manager.entity.Tombstone;
+import com.inventory.manager.repository.ItemRepository;
 import com.inventory.manager.repository.SupplierRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,23 +24,51 @@ import java.util.stream.Collectors;
 public class SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final ItemRepository itemRepository;
+    private final ReferenceDataCache referenceData;
+    private final ChangeFeed changeFeed;
+    private final DeltaSyncService deltaSync;
+    private final EntityManager entityManager;
 
     public List<SupplierDTO> getAllSuppliers() {
-        return supplierRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(supplierRepository.findAll());
+    }
+
+    public List<SupplierDTO> getSuppliersAfter(Long after, Integer limit) {
+        return convertToDTOs(supplierRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetPages.after(after), KeysetPages.limit(limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public SyncDeltaDTO<SupplierDTO> getSuppliersChangedSince(LocalDateTime since) {
+        return deltaSync.changesSince(Tombstone.EntityType.SUPPLIER, since, (changedSince, limit) -> convertToDTOs(
+                supplierRepository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(changedSince, limit)),
+                SupplierDTO::getUpdatedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllSuppliers(Consumer<SupplierDTO> consumer) {
+        KeysetPages.streamPages(supplierRepository::findByIdGreaterThanOrderByIdAsc, Supplier::getId,
+                this::convertToDTOs, consumer, entityManager);
     }
 
     public SupplierDTO getSupplierById(Long id) {
-        Supplier supplier = supplierRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Supplier not found with id: " + id));
-        return convertToDTO(supplier);
+        SupplierDTO supplier = referenceData.findSupplier(id);
+        if (supplier == null) {
+            throw new RuntimeException("Supplier not found with id: " + id);
+        }
+        // the cached snapshot is shared, so copy it; the item count is always read fresh
+        return supplier.toBuilder()
+                .itemCount((int) itemRepository.countBySupplierId(id))
+                .build();
     }
 
     public SupplierDTO createSupplier(SupplierDTO supplierDTO) {
         Supplier supplier = convertToEntity(supplierDTO);
         Supplier savedSupplier = supplierRepository.save(supplier);
-        return convertToDTO(savedSupplier);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.SUPPLIER, ChangeEventDTO.ChangeType.CREATED,
+                savedSupplier.getId(), () -> convertToDTO(savedSupplier, 0));
+        return convertToDTO(savedSupplier, 0);
     }
 
     public SupplierDTO updateSupplier(Long id, SupplierDTO supplierDTO) {
@@ -46,7 +82,11 @@ public class SupplierService {
         supplier.setContactPerson(supplierDTO.getContactPerson());
 
         Supplier updatedSupplier = supplierRepository.save(supplier);
-        return convertToDTO(updatedSupplier);
+        referenceData.evictSupplier(id);
+        long itemCount = itemRepository.countBySupplierId(id);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.SUPPLIER, ChangeEventDTO.ChangeType.UPDATED,
+                id, () -> convertToDTO(updatedSupplier, itemCount));
+        return convertToDTO(updatedSupplier, itemCount);
     }
 
     public void deleteSupplier(Long id) {
@@ -54,14 +94,32 @@ public class SupplierService {
                 .orElseThrow(() -> new RuntimeException("Supplier not found with id: " + id));
 
         // Проверка, что поставщик не связан с товарами
-        if (!supplier.getItems().isEmpty()) {
+        if (itemRepository.existsBySupplierId(id)) {
             throw new RuntimeException("Cannot delete supplier with existing items. Please reassign items first.");
         }
 
         supplierRepository.deleteById(id);
+        referenceData.evictSupplier(id);
+        deltaSync.recordDeletion(Tombstone.EntityType.SUPPLIER, id);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.SUPPLIER, ChangeEventDTO.ChangeType.DELETED, id, null);
+    }
+
+    /**
+     * Converts a page of suppliers, counting their items with one grouped query.
+     */
+    private List<SupplierDTO> convertToDTOs(List<Supplier> suppliers) {
+        if (suppliers.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> itemCounts = itemRepository.countBySupplierIdIn(
+                        suppliers.stream().map(Supplier::getId).toList()).stream()
+                .collect(Collectors.toMap(ItemRepository.ItemCount::getOwnerId, ItemRepository.ItemCount::getItemCount));
+        return suppliers.stream()
+                .map(supplier -> convertToDTO(supplier, itemCounts.getOrDefault(supplier.getId(), 0L)))
+                .collect(Collectors.toList());
     }
 
-    private SupplierDTO convertToDTO(Supplier supplier) {
+    private SupplierDTO convertToDTO(Supplier supplier, long itemCount) {
         return SupplierDTO.builder()
                 .id(supplier.getId())
                 .name(supplier.getName())
@@ -69,7 +127,7 @@ public class SupplierService {
                 .phone(supplier.getPhone())
                 .address(supplier.getAddress())
                 .contactPerson(supplier.getContactPerson())
-                .itemCount(supplier.getItems() != null ? supplier.getItems().size() : 0)
+                .itemCount((int) itemCount)
                 .createdAt(supplier.getCreatedAt())
                 .updatedAt(supplier.getUpdatedAt())
                 .build();
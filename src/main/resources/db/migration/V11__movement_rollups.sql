@@ -0,0 +1,31 @@
+-- Почасовые и суточные агрегаты движений: товар × место назначения × тип движения
+-- -> количество движений и сумма quantity. Поддерживаются приращениями в транзакции
+-- создания движения (MovementRollupService), поэтому временные ряды
+-- (/api/reports/movements/timeseries) не читают таблицу movements.
+-- bucket_start - начало часа (granularity = 'HOUR') или суток (granularity = 'DAY').
+CREATE TABLE IF NOT EXISTS movement_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    item_id BIGINT NOT NULL,
+    location_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    movement_count BIGINT NOT NULL DEFAULT 0,
+    total_quantity BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_movement_rollups UNIQUE (granularity, bucket_start, item_id, location_id, type)
+);
+
+-- Диапазон времени читается по индексу уникальности, отбор по товару или месту - по этим индексам
+CREATE INDEX IF NOT EXISTS idx_movement_rollups_item ON movement_rollups(granularity, item_id, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_movement_rollups_location ON movement_rollups(granularity, location_id, bucket_start);
+
+-- Начальное заполнение по уже записанным движениям
+INSERT INTO movement_rollups (granularity, bucket_start, item_id, location_id, type, movement_count, total_quantity)
+SELECT 'HOUR', DATE_TRUNC('HOUR', movement_date), item_id, to_location_id, type, COUNT(*), SUM(quantity)
+FROM movements
+GROUP BY DATE_TRUNC('HOUR', movement_date), item_id, to_location_id, type;
+
+INSERT INTO movement_rollups (granularity, bucket_start, item_id, location_id, type, movement_count, total_quantity)
+SELECT 'DAY', DATE_TRUNC('DAY', movement_date), item_id, to_location_id, type, COUNT(*), SUM(quantity)
+FROM movements
+GROUP BY DATE_TRUNC('DAY', movement_date), item_id, to_location_id, type;
@@ -0,0 +1,24 @@
+-- Архив холодных движений. В PostgreSQL movements секционирована по месяцам
+-- (db/postgresql/V12__movement_archive.sql); в H2 секционирования нет, и её аналог -
+-- разделение на горячую таблицу movements и архив movements_archive: индексы горячей
+-- таблицы покрывают только неархивные месяцы.
+-- MovementArchiveService раз в сутки переносит в архив месяцы старше
+-- inventory.movements.archive-after. Внешних ключей нет: архив - история,
+-- как и снимки остатков.
+CREATE TABLE IF NOT EXISTS movements_archive (
+    id BIGINT PRIMARY KEY,
+    item_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    quantity INT NOT NULL,
+    from_location_id BIGINT,
+    to_location_id BIGINT,
+    movement_date TIMESTAMP NOT NULL,
+    notes TEXT,
+    performed_by VARCHAR(100),
+    sequence_no BIGINT NOT NULL,
+    quantity_after INT
+);
+
+-- Продолжение нумерации журнала для товаров, все движения которых уже в архиве
+CREATE INDEX IF NOT EXISTS idx_movements_archive_item ON movements_archive(item_id, sequence_no);
+CREATE INDEX IF NOT EXISTS idx_movements_archive_date ON movements_archive(movement_date);
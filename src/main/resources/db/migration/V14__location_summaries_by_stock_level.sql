@@ -0,0 +1,20 @@
+-- Сводка по локациям считается по stock_levels, а не по основной локации товара:
+-- товар учитывается в каждой локации, где он лежит, с количеством в ней
+-- (как в отчёте /api/reports/stock/location/{id}), и перемещение меняет обе локации.
+-- Остаток товаров без основной локации по-прежнему попадает в dimension_id = 0.
+DELETE FROM stock_summaries WHERE dimension = 'LOCATION';
+
+INSERT INTO stock_summaries (dimension, dimension_id, status, item_count, total_quantity, total_value)
+SELECT 'LOCATION', sl.location_id, i.status, COUNT(*), SUM(sl.quantity), SUM(sl.quantity * i.unit_price)
+FROM stock_levels sl
+JOIN items i ON i.id = sl.item_id
+WHERE sl.quantity > 0
+GROUP BY sl.location_id, i.status;
+
+INSERT INTO stock_summaries (dimension, dimension_id, status, item_count, total_quantity, total_value)
+SELECT 'LOCATION', 0, status, COUNT(*), SUM(unheld), SUM(unheld * unit_price)
+FROM (SELECT i.status, i.unit_price,
+             i.quantity - COALESCE((SELECT SUM(sl.quantity) FROM stock_levels sl WHERE sl.item_id = i.id), 0) AS unheld
+      FROM items i) u
+WHERE unheld > 0
+GROUP BY status;
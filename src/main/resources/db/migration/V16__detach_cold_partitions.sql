@@ -0,0 +1,3 @@
+-- Пара к db/postgresql/V16__detach_cold_partitions.sql: там холодные секции movements
+-- отсоединяются через DETACH PARTITION ... CONCURRENTLY, прежде чем попасть в архив.
+-- В H2 секций нет (см. V12__movement_archive.sql), менять нечего.
@@ -0,0 +1,4 @@
+-- Приведение таблицы movements в соответствие с сущностью Movement
+ALTER TABLE movements RENAME COLUMN movement_type TO type;
+
+ALTER TABLE movements ADD COLUMN performed_by VARCHAR(100);
@@ -0,0 +1,8 @@
+-- Последовательность для идентификаторов movements.
+-- IDENTITY не позволяет Hibernate группировать INSERT в JDBC batch, поэтому Movement
+-- получает id из последовательности с шагом 50 (pooled optimizer).
+CREATE SEQUENCE IF NOT EXISTS movements_seq START WITH 1 INCREMENT BY 50;
+
+-- Pooled optimizer считает значение последовательности верхней границей блока,
+-- поэтому для непустой таблицы начинаем с MAX(id) + 50
+ALTER SEQUENCE movements_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM movements);
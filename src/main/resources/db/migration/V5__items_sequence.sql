@@ -0,0 +1,5 @@
+-- Последовательность для идентификаторов items, чтобы импорт каталога
+-- вставлял строки через JDBC batch (см. V4__movements_sequence.sql)
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE items_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM items);
@@ -0,0 +1,25 @@
+-- Агрегаты остатков по локациям и поставщикам в разрезе статуса товара.
+-- Поддерживаются приращениями в той же транзакции, что и изменение товара
+-- (StockSummaryService), поэтому сводный отчёт не пересчитывает все items.
+-- dimension_id = 0 означает товары без локации/поставщика.
+CREATE TABLE IF NOT EXISTS stock_summaries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    dimension VARCHAR(20) NOT NULL,
+    dimension_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    item_count BIGINT NOT NULL DEFAULT 0,
+    total_quantity BIGINT NOT NULL DEFAULT 0,
+    total_value DECIMAL(19,2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_stock_summaries UNIQUE (dimension, dimension_id, status)
+);
+
+-- Начальное заполнение по текущему состоянию items
+INSERT INTO stock_summaries (dimension, dimension_id, status, item_count, total_quantity, total_value)
+SELECT 'LOCATION', COALESCE(location_id, 0), status, COUNT(*), SUM(quantity), SUM(quantity * unit_price)
+FROM items
+GROUP BY COALESCE(location_id, 0), status;
+
+INSERT INTO stock_summaries (dimension, dimension_id, status, item_count, total_quantity, total_value)
+SELECT 'SUPPLIER', COALESCE(supplier_id, 0), status, COUNT(*), SUM(quantity), SUM(quantity * unit_price)
+FROM items
+GROUP BY COALESCE(supplier_id, 0), status;
@@ -0,0 +1,44 @@
+-- Журнал движений: movements становится упорядоченным append-only журналом.
+-- sequence_no - порядковый номер движения внутри товара (1, 2, 3...),
+-- quantity_after - остаток товара сразу после движения.
+ALTER TABLE movements ADD COLUMN sequence_no BIGINT;
+ALTER TABLE movements ADD COLUMN quantity_after INT;
+
+-- Нумерация существующих движений по дате; остаток после них неизвестен (NULL),
+-- поэтому история до первого снимка не воспроизводится
+UPDATE movements m SET sequence_no = (
+    SELECT COUNT(*) FROM movements p
+    WHERE p.item_id = m.item_id
+      AND (p.movement_date < m.movement_date OR (p.movement_date = m.movement_date AND p.id <= m.id)));
+
+ALTER TABLE movements ALTER COLUMN sequence_no SET NOT NULL;
+ALTER TABLE movements ADD CONSTRAINT uk_movements_item_sequence UNIQUE (item_id, sequence_no);
+
+-- Периодические снимки остатков (StockLedgerService): остаток на момент T
+-- = ближайший снимок до T + хвост журнала после него
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    taken_at TIMESTAMP NOT NULL
+);
+
+-- Без внешнего ключа на items: снимок - история, он не должен мешать удалению товара.
+-- sequence_no - последний номер движения товара, вошедший в снимок
+CREATE TABLE IF NOT EXISTS stock_snapshot_items (
+    snapshot_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    location_id BIGINT,
+    quantity INT NOT NULL,
+    sequence_no BIGINT NOT NULL,
+    PRIMARY KEY (snapshot_id, item_id),
+    FOREIGN KEY (snapshot_id) REFERENCES stock_snapshots(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_snapshots_taken_at ON stock_snapshots(taken_at);
+
+-- Первый снимок по текущему состоянию items
+INSERT INTO stock_snapshots (taken_at) VALUES (LOCALTIMESTAMP);
+
+INSERT INTO stock_snapshot_items (snapshot_id, item_id, location_id, quantity, sequence_no)
+SELECT (SELECT MAX(id) FROM stock_snapshots), i.id, i.location_id, i.quantity,
+       COALESCE((SELECT MAX(m.sequence_no) FROM movements m WHERE m.item_id = i.id), 0)
+FROM items i;
@@ -0,0 +1,9 @@
+-- Точка заказа товара: остаток на уровне или ниже неё считается низким.
+-- NULL - для товара оповещения о низком остатке не нужны.
+ALTER TABLE items ADD COLUMN IF NOT EXISTS reorder_point INT;
+ALTER TABLE items ADD CONSTRAINT ck_items_reorder_point CHECK (reorder_point >= 0);
+
+-- Запас над точкой заказа; условие quantity <= reorder_point становится stock_margin <= 0
+-- и выбирается диапазоном по индексу вместо полного просмотра items
+ALTER TABLE items ADD COLUMN IF NOT EXISTS stock_margin INT GENERATED ALWAYS AS (quantity - reorder_point);
+CREATE INDEX IF NOT EXISTS idx_items_stock_margin ON items(stock_margin);
@@ -0,0 +1,22 @@
+-- Инкрементальная синхронизация (?changedSince=): клиенты забирают только изменения с прошлого раза.
+
+-- У локаций не было времени изменения; для существующих строк это время создания
+ALTER TABLE locations ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+UPDATE locations SET updated_at = created_at WHERE created_at IS NOT NULL;
+
+-- Выборка изменённых строк - диапазон по индексу, а не полный просмотр таблицы
+CREATE INDEX IF NOT EXISTS idx_items_updated_at ON items(updated_at);
+CREATE INDEX IF NOT EXISTS idx_suppliers_updated_at ON suppliers(updated_at);
+CREATE INDEX IF NOT EXISTS idx_locations_updated_at ON locations(updated_at);
+-- movements: idx_movements_date (V1) уже покрывает movement_date
+
+-- Надгробия: удалённые строки, чтобы клиент удалил их и у себя.
+-- Хранятся inventory.sync.tombstone-retention, потом удаляются по расписанию.
+CREATE TABLE IF NOT EXISTS tombstones (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_tombstones_type_deleted_at ON tombstones(entity_type, deleted_at, entity_id);
@@ -0,0 +1,124 @@
+-- Секционирование movements по месяцам и архив холодных месяцев.
+-- Запросы по диапазону дат (movement_date) читают только нужные секции, а индексы
+-- горячих месяцев невелики и остаются в памяти. MovementArchiveService раз в сутки
+-- создаёт секции на inventory.movements.partitions-ahead месяцев вперёд и переносит
+-- в movements_archive месяцы старше inventory.movements.archive-after.
+
+-- Секционированная таблица не может иметь уникальный ключ без ключа секционирования,
+-- поэтому первичный ключ - (id, movement_date), а уникальность (item_id, sequence_no)
+-- обеспечивает блокировка строки товара в MovementService
+ALTER TABLE movements RENAME TO movements_unpartitioned;
+
+CREATE TABLE movements (
+    id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL REFERENCES items(id),
+    type VARCHAR(20) NOT NULL,
+    quantity INT NOT NULL,
+    from_location_id BIGINT REFERENCES locations(id),
+    to_location_id BIGINT REFERENCES locations(id),
+    movement_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    notes TEXT,
+    performed_by VARCHAR(100),
+    sequence_no BIGINT NOT NULL,
+    quantity_after INT,
+    PRIMARY KEY (id, movement_date)
+) PARTITION BY RANGE (movement_date);
+
+-- Страховка на случай, если секции не созданы заранее. Пока в ней есть строки
+-- какого-то месяца, секцию этого месяца создать нельзя, поэтому она должна быть пустой
+CREATE TABLE movements_default PARTITION OF movements DEFAULT;
+
+-- Секции movements_YYYY_MM с месяца from_month до текущего месяца + months_ahead
+CREATE OR REPLACE FUNCTION ensure_movement_partitions(from_month DATE, months_ahead INT) RETURNS INT AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', from_month)::date;
+    last_start DATE := (date_trunc('month', LOCALTIMESTAMP) + make_interval(months => months_ahead))::date;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    WHILE partition_start <= last_start LOOP
+        partition_name := 'movements_' || to_char(partition_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF movements FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, partition_start, (partition_start + INTERVAL '1 month')::date);
+            created := created + 1;
+        END IF;
+        partition_start := (partition_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_movement_partitions(COALESCE((SELECT MIN(movement_date) FROM movements_unpartitioned),
+                                           LOCALTIMESTAMP)::date, 3);
+
+INSERT INTO movements (id, item_id, type, quantity, from_location_id, to_location_id, movement_date,
+                       notes, performed_by, sequence_no, quantity_after)
+SELECT id, item_id, type, quantity, from_location_id, to_location_id, movement_date,
+       notes, performed_by, sequence_no, quantity_after
+FROM movements_unpartitioned;
+
+DROP TABLE movements_unpartitioned;
+
+-- Индексы создаются в каждой секции
+CREATE INDEX IF NOT EXISTS idx_movements_item ON movements(item_id, sequence_no);
+CREATE INDEX IF NOT EXISTS idx_movements_date ON movements(movement_date);
+
+-- Архив: без внешних ключей (история, как и снимки остатков), страницы заполнены полностью,
+-- по дате - компактный BRIN-индекс, так как строки дописываются в порядке дат
+CREATE TABLE IF NOT EXISTS movements_archive (
+    id BIGINT PRIMARY KEY,
+    item_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    quantity INT NOT NULL,
+    from_location_id BIGINT,
+    to_location_id BIGINT,
+    movement_date TIMESTAMP NOT NULL,
+    notes TEXT,
+    performed_by VARCHAR(100),
+    sequence_no BIGINT NOT NULL,
+    quantity_after INT
+) WITH (fillfactor = 100);
+
+-- Продолжение нумерации журнала для товаров, все движения которых уже в архиве
+CREATE INDEX IF NOT EXISTS idx_movements_archive_item ON movements_archive(item_id, sequence_no);
+CREATE INDEX IF NOT EXISTS idx_movements_archive_date ON movements_archive USING BRIN (movement_date);
+
+-- Переносит в архив целые месяцы, закончившиеся до cutoff: строки копируются, секция удаляется
+-- (без VACUUM и раздувания горячих индексов). Старые строки из movements_default переносятся построчно.
+CREATE OR REPLACE FUNCTION archive_movements_before(cutoff TIMESTAMP) RETURNS BIGINT AS $$
+DECLARE
+    cold RECORD;
+    moved BIGINT := 0;
+    copied BIGINT;
+BEGIN
+    FOR cold IN
+        SELECT c.relname AS name
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'movements'::regclass
+          AND c.relname ~ '^movements_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 11), 'YYYY_MM') + INTERVAL '1 month' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('INSERT INTO movements_archive (id, item_id, type, quantity, from_location_id, '
+                       'to_location_id, movement_date, notes, performed_by, sequence_no, quantity_after) '
+                       'SELECT id, item_id, type, quantity, from_location_id, to_location_id, movement_date, '
+                       'notes, performed_by, sequence_no, quantity_after FROM %I', cold.name);
+        GET DIAGNOSTICS copied = ROW_COUNT;
+        moved := moved + copied;
+        EXECUTE format('DROP TABLE %I', cold.name);
+    END LOOP;
+
+    WITH gone AS (
+        DELETE FROM movements_default WHERE movement_date < cutoff
+        RETURNING id, item_id, type, quantity, from_location_id, to_location_id, movement_date,
+                  notes, performed_by, sequence_no, quantity_after
+    )
+    INSERT INTO movements_archive (id, item_id, type, quantity, from_location_id, to_location_id,
+                                   movement_date, notes, performed_by, sequence_no, quantity_after)
+    SELECT * FROM gone;
+    GET DIAGNOSTICS copied = ROW_COUNT;
+    RETURN moved + copied;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,15 @@
+-- Составные индексы под фактические запросы ItemRepository и MovementRepository;
+-- QueryPlanTest проверяет по EXPLAIN, что ни один из них не читает таблицу целиком.
+-- Расхождение схемы с сущностями (movement_type вместо type, нет performed_by) устранено в V3.
+
+-- findByStatus (статус, затем остаток в рамках статуса) и findLowStockItems (quantity < порога)
+CREATE INDEX IF NOT EXISTS idx_items_status_quantity ON items(status, quantity);
+CREATE INDEX IF NOT EXISTS idx_items_quantity ON items(quantity);
+
+-- Движения товара и места хранения в хронологическом порядке. Индексы по местам нужны
+-- и внешним ключам: удаление места не просматривает весь журнал.
+-- На секционированной movements индексы создаются в каждой секции;
+-- idx_movements_item (item_id, sequence_no) из V12 остаётся для нумерации журнала
+CREATE INDEX IF NOT EXISTS idx_movements_item_date ON movements(item_id, movement_date);
+CREATE INDEX IF NOT EXISTS idx_movements_to_location_date ON movements(to_location_id, movement_date);
+CREATE INDEX IF NOT EXISTS idx_movements_from_location_date ON movements(from_location_id, movement_date);
@@ -0,0 +1,28 @@
+-- Остатки по локациям в снимках (StockLedgerService): отчёт на момент T показывает,
+-- где лежал товар, а не только его основную локацию.
+-- sequence_no - последний номер движения товара, вошедший в эти строки. Строки пишутся
+-- отдельным запросом после stock_snapshot_items, поэтому номер может быть больше, чем там.
+CREATE TABLE IF NOT EXISTS stock_snapshot_levels (
+    snapshot_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    location_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    sequence_no BIGINT NOT NULL,
+    PRIMARY KEY (snapshot_id, item_id, location_id),
+    FOREIGN KEY (snapshot_id) REFERENCES stock_snapshots(id) ON DELETE CASCADE
+);
+
+-- Снимок с остатками по локациям; для более старых снимков отчёт относит весь остаток
+-- к основной локации, как раньше
+INSERT INTO stock_snapshots (taken_at) VALUES (LOCALTIMESTAMP);
+
+INSERT INTO stock_snapshot_items (snapshot_id, item_id, location_id, quantity, sequence_no)
+SELECT (SELECT MAX(id) FROM stock_snapshots), i.id, i.location_id, i.quantity,
+       COALESCE((SELECT MAX(m.sequence_no) FROM movements m WHERE m.item_id = i.id), 0)
+FROM items i;
+
+INSERT INTO stock_snapshot_levels (snapshot_id, item_id, location_id, quantity, sequence_no)
+SELECT (SELECT MAX(id) FROM stock_snapshots), sl.item_id, sl.location_id, sl.quantity,
+       COALESCE((SELECT MAX(m.sequence_no) FROM movements m WHERE m.item_id = sl.item_id), 0)
+FROM stock_levels sl
+WHERE sl.quantity > 0;
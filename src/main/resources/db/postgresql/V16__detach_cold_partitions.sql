@@ -0,0 +1,88 @@
+-- Перенос холодных секций в архив без блокировки всей movements.
+-- DROP TABLE секции (V12) брал ACCESS EXCLUSIVE на movements, и на время копирования месяца
+-- вставки и чтения движений стояли. Теперь MovementArchiveService сначала отсоединяет секцию
+-- через ALTER TABLE movements DETACH PARTITION ... CONCURRENTLY (SHARE UPDATE EXCLUSIVE,
+-- только вне транзакции), а копирует и удаляет уже отдельную таблицу.
+
+-- DETACH CONCURRENTLY запрещён, пока у таблицы есть секция по умолчанию. Дату движения
+-- проставляет приложение, а секции создаются на месяцы вперёд, поэтому movements_default
+-- не нужна: её строки переезжают в помесячные секции
+ALTER TABLE movements DETACH PARTITION movements_default;
+
+-- Секция создаётся отдельной таблицей и присоединяется: ATTACH PARTITION, в отличие от
+-- CREATE TABLE ... PARTITION OF, берёт на movements только SHARE UPDATE EXCLUSIVE
+CREATE OR REPLACE FUNCTION ensure_movement_partitions(from_month DATE, months_ahead INT) RETURNS INT AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', from_month)::date;
+    last_start DATE := (date_trunc('month', LOCALTIMESTAMP) + make_interval(months => months_ahead))::date;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    WHILE partition_start <= last_start LOOP
+        partition_name := 'movements_' || to_char(partition_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE movements INCLUDING DEFAULTS)', partition_name);
+            EXECUTE format('ALTER TABLE movements ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, partition_start, (partition_start + INTERVAL '1 month')::date);
+            created := created + 1;
+        END IF;
+        partition_start := (partition_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_movement_partitions(COALESCE((SELECT MIN(movement_date) FROM movements_default),
+                                           LOCALTIMESTAMP)::date, 3);
+
+INSERT INTO movements (id, item_id, type, quantity, from_location_id, to_location_id, movement_date,
+                       notes, performed_by, sequence_no, quantity_after)
+SELECT id, item_id, type, quantity, from_location_id, to_location_id, movement_date,
+       notes, performed_by, sequence_no, quantity_after
+FROM movements_default;
+
+DROP TABLE movements_default;
+
+-- Присоединённые секции месяцев, закончившихся до cutoff. detach_pending - отсоединение
+-- прервалось на полпути, его завершает DETACH PARTITION ... FINALIZE
+CREATE OR REPLACE FUNCTION cold_movement_partitions(cutoff TIMESTAMP)
+RETURNS TABLE (name TEXT, detach_pending BOOLEAN) AS $$
+    SELECT c.relname::text, i.inhdetachpending
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'movements'::regclass
+      AND c.relname ~ '^movements_[0-9]{4}_[0-9]{2}$'
+      AND to_date(substr(c.relname, 11), 'YYYY_MM') + INTERVAL '1 month' <= cutoff
+    ORDER BY c.relname
+$$ LANGUAGE sql STABLE;
+
+-- Копирует в архив и удаляет уже отсоединённые холодные секции. Таблица больше не входит
+-- в movements, поэтому DROP блокирует только её. Секция, оставшаяся от прерванного
+-- прогона, подхватывается следующим
+CREATE OR REPLACE FUNCTION archive_movements_before(cutoff TIMESTAMP) RETURNS BIGINT AS $$
+DECLARE
+    cold RECORD;
+    moved BIGINT := 0;
+    copied BIGINT;
+BEGIN
+    FOR cold IN
+        SELECT c.relname AS name
+        FROM pg_class c
+        WHERE c.relkind = 'r'
+          AND NOT c.relispartition
+          AND c.relnamespace = current_schema()::regnamespace
+          AND c.relname ~ '^movements_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 11), 'YYYY_MM') + INTERVAL '1 month' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('INSERT INTO movements_archive (id, item_id, type, quantity, from_location_id, '
+                       'to_location_id, movement_date, notes, performed_by, sequence_no, quantity_after) '
+                       'SELECT id, item_id, type, quantity, from_location_id, to_location_id, movement_date, '
+                       'notes, performed_by, sequence_no, quantity_after FROM %I', cold.name);
+        GET DIAGNOSTICS copied = ROW_COUNT;
+        moved := moved + copied;
+        EXECUTE format('DROP TABLE %I', cold.name);
+    END LOOP;
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,6 @@
+-- Последовательность для идентификаторов movements (см. db/migration/V4__movements_sequence.sql).
+CREATE SEQUENCE IF NOT EXISTS movements_seq START WITH 1 INCREMENT BY 50;
+
+-- Pooled optimizer считает значение последовательности верхней границей блока,
+-- поэтому для непустой таблицы начинаем с MAX(id) + 50
+SELECT setval('movements_seq', COALESCE(MAX(id) + 50, 1), false) FROM movements;
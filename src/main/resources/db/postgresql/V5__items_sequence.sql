@@ -0,0 +1,4 @@
+-- Последовательность для идентификаторов items (см. db/migration/V5__items_sequence.sql)
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('items_seq', COALESCE(MAX(id) + 50, 1), false) FROM items;
@@ -0,0 +1,21 @@
+-- Остатки товара по локациям: товар может лежать в нескольких местах одновременно.
+-- items.quantity - общий остаток, items.location_id - основная (домашняя) локация.
+-- Поддерживается MovementService и ItemService в той же транзакции, что и items.
+CREATE TABLE IF NOT EXISTS stock_levels (
+    item_id BIGINT NOT NULL,
+    location_id BIGINT NOT NULL,
+    quantity INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (item_id, location_id),
+    CONSTRAINT ck_stock_levels_quantity CHECK (quantity >= 0),
+    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    FOREIGN KEY (location_id) REFERENCES locations(id) ON DELETE CASCADE
+);
+
+-- Первичный ключ обслуживает выборку по товару, этот индекс - отчёт по локации
+CREATE INDEX IF NOT EXISTS idx_stock_levels_location ON stock_levels(location_id, item_id);
+
+-- Начальное заполнение: весь остаток товара лежит в его текущей локации
+INSERT INTO stock_levels (item_id, location_id, quantity)
+SELECT id, location_id, quantity
+FROM items
+WHERE location_id IS NOT NULL AND quantity > 0;
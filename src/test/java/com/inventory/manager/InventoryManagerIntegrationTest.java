@@ -2,23 +2,36 @@ package com.inventory.manager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.MovementDTO;
 import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.service.ItemService;
+import com.inventory.manager.service.MovementService;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @Transactional
 class InventoryManagerIntegrationTest {
     
@@ -28,6 +41,15 @@ class InventoryManagerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private ItemService itemService;
+    
+    @Autowired
+    private MovementService movementService;
+    
+    @Autowired
+    private LocationRepository locationRepository;
+    
     @Test
     void whenApplicationStarts_thenSeedDataIsLoaded() throws Exception {
         mockMvc.perform(get("/api/items"))
@@ -35,6 +57,98 @@ class InventoryManagerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(greaterThan(0))));
     }
     
+    @Test
+    void whenPagingItemsWithKeyset_thenPagesFollowCursor() throws Exception {
+        String nextAfter = mockMvc.perform(get("/api/items")
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists("X-Next-After"))
+                .andReturn().getResponse().getHeader("X-Next-After");
+        
+        mockMvc.perform(get("/api/items")
+                .param("after", nextAfter)
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", greaterThan(Integer.parseInt(nextAfter))));
+    }
+    
+    @Test
+    void whenAnotherItemMoves_thenSingleItemEtagStillMatches() throws Exception {
+        Long warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+        Long watched = itemService.createItem(item("ETAG-001", warehouseA)).getId();
+        Long other = itemService.createItem(item("ETAG-002", warehouseA)).getId();
+        String etag = mockMvc.perform(get("/api/items/{id}", watched))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        movementService.createMovement(receipt(other, warehouseA));
+        
+        mockMvc.perform(get("/api/items/{id}", watched).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        
+        movementService.createMovement(receipt(watched, warehouseA));
+        
+        mockMvc.perform(get("/api/items/{id}", watched).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(11)));
+    }
+    
+    @Test
+    void whenStreamingItems_thenEveryItemIsWrittenAsOneLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/items/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        
+        String listBody = mockMvc.perform(get("/api/items"))
+                .andReturn().getResponse().getContentAsString();
+        int expected = objectMapper.readValue(listBody, ItemDTO[].class).length;
+        assertThat(body.split("\\n")).hasSize(expected);
+    }
+    
+    @Test
+    void whenExportingStockReport_thenWorkbookHasOneRowPerItem() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reports/stock.xlsx"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("stock-report.xlsx")))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        String listBody = mockMvc.perform(get("/api/items"))
+                .andReturn().getResponse().getContentAsString();
+        int expected = objectMapper.readValue(listBody, ItemDTO[].class).length;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(body))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(0).getCell(2).getStringCellValue()).isEqualTo("SKU");
+            assertThat(sheet.getLastRowNum()).isEqualTo(expected);
+        }
+    }
+    
+    @Test
+    void whenExportingStockReportByLocation_thenOnlyThatLocationIsExported() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reports/stock/location/2.xlsx"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(body))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isGreaterThan(0);
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                assertThat(sheet.getRow(i).getCell(6).getStringCellValue()).isEqualTo("Warehouse B");
+            }
+        }
+    }
+    
     @Test
     void fullItemLifecycle_createUpdateDelete() throws Exception {
         // 1. Создание
@@ -81,4 +195,38 @@ class InventoryManagerIntegrationTest {
         mockMvc.perform(get("/api/items/" + itemId))
                 .andExpect(status().is4xxClientError());
     }
+    
+    @Test
+    void whenScrapingPrometheus_thenRequestServiceDatabaseAndPoolMetricsAreExposed() throws Exception {
+        mockMvc.perform(get("/api/items/search").param("keyword", "item"))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("inventory_items_search_seconds_bucket")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("cache_gets_total")));
+    }
+    
+    private static ItemDTO item(String sku, Long locationId) {
+        return ItemDTO.builder()
+                .name("Item " + sku)
+                .sku(sku)
+                .quantity(10)
+                .unitPrice(BigDecimal.ONE)
+                .locationId(locationId)
+                .build();
+    }
+    
+    private static MovementDTO receipt(Long itemId, Long locationId) {
+        return MovementDTO.builder()
+                .itemId(itemId)
+                .toLocationId(locationId)
+                .quantity(1)
+                .type(Movement.MovementType.RECEIPT)
+                .build();
+    }
 }
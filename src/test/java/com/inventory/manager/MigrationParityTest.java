@@ -0,0 +1,36 @@
+package com.inventory.manager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The prod profile migrates PostgreSQL from db/postgresql, everything else H2 from db/migration;
+ * every migration must exist in both sets under the same version and description.
+ */
+class MigrationParityTest {
+    
+    @Test
+    void whenMigrationAdded_thenPostgresqlVariantExists() throws IOException {
+        Set<String> h2 = migrations("db/migration");
+        Set<String> postgresql = migrations("db/postgresql");
+        
+        assertThat(h2).isNotEmpty();
+        assertThat(postgresql).isEqualTo(h2);
+    }
+    
+    private static Set<String> migrations(String location) throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:" + location + "/V*.sql");
+        return Arrays.stream(resources)
+                .map(Resource::getFilename)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,101 @@
+package com.inventory.manager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyLimitFilterTest {
+    
+    private MeterRegistry registry;
+    private RequestConcurrencyLimitFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(10), registry);
+    }
+    
+    @Test
+    void whenLimitReached_thenRequestIsRejectedWithRetryAfter() throws Exception {
+        AtomicReference<MockHttpServletResponse> second = new AtomicReference<>();
+        
+        // второй запрос приходит, пока первый ещё держит единственный слот
+        filter.doFilter(get("/api/items"), new MockHttpServletResponse(), (request, response) ->
+                second.set(perform("/api/items", (req, res) -> {
+                })));
+        
+        assertThat(second.get().getStatus()).isEqualTo(503);
+        assertThat(second.get().getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(registry.get("inventory.requests.rejected").counter().count()).isEqualTo(1);
+    }
+    
+    @Test
+    void whenRequestCompletes_thenSlotIsReleased() throws Exception {
+        AtomicInteger handled = new AtomicInteger();
+        
+        perform("/api/items", (request, response) -> handled.incrementAndGet());
+        MockHttpServletResponse response = perform("/api/items", (request, res) -> handled.incrementAndGet());
+        
+        assertThat(handled).hasValue(2);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(registry.get("inventory.requests.in.flight").gauge().value()).isZero();
+    }
+    
+    @Test
+    void whenLimitReached_thenActuatorIsStillServed() throws Exception {
+        AtomicReference<MockHttpServletResponse> health = new AtomicReference<>();
+        
+        filter.doFilter(get("/api/items"), new MockHttpServletResponse(), (request, response) ->
+                health.set(perform("/actuator/health", (req, res) -> {
+                })));
+        
+        assertThat(health.get().getStatus()).isEqualTo(200);
+    }
+    
+    @Test
+    void whenVirtualThreadsEnabled_thenFilterIsRegistered() {
+        // as SpringApplication does, so that "1s" binds to a Duration
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory()
+                        .setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+                .withUserConfiguration(ThreadingConfig.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues("inventory.virtual-threads.max-concurrent-requests=10",
+                        "inventory.virtual-threads.acquire-timeout=1s");
+        
+        runner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(FilterRegistrationBean.class));
+        runner.run(context -> assertThat(context).doesNotHaveBean(FilterRegistrationBean.class));
+    }
+    
+    private MockHttpServletResponse perform(String uri, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(get(uri), response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+    
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,97 @@
+package com.inventory.manager.controller;
+
+import com.inventory.manager.dto.ChangeEventDTO;
+import com.inventory.manager.service.ChangeFeed;
+import com.inventory.manager.service.ResourceVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.inventory.manager.controller.SseResponses.awaitContent;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(ChangeController.class)
+@Import({ChangeStream.class, ChangeFeed.class, ResourceVersions.class, ChangeControllerTest.Metrics.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    void whenChangeCommitted_thenPushedWithItsOffsetAsEventId() throws Exception {
+        // given
+        MvcResult result = mockMvc.perform(get("/api/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when (no transaction here, so the change is appended right away)
+        record(7L);
+
+        // then
+        String body = awaitContent(result, "\"id\":7");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(body).contains("id:1\n").contains("\"entity\":\"LOCATION\"").contains("\"type\":\"UPDATED\"");
+    }
+
+    @Test
+    void whenReconnectingWithLastEventId_thenMissedChangesAreReplayedFirst() throws Exception {
+        // given
+        record(1L);
+        record(2L);
+        record(3L);
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/changes/stream").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        record(4L);
+
+        // then
+        String body = awaitContent(result, "\"id\":4");
+        assertThat(body).doesNotContain("\"id\":1,");
+        assertThat(body.indexOf("\"id\":2")).isLessThan(body.indexOf("\"id\":3"));
+        assertThat(body.indexOf("\"id\":3")).isLessThan(body.indexOf("\"id\":4"));
+    }
+
+    @Test
+    void whenResumingFromAnUnknownOffset_thenResetIsSent() throws Exception {
+        // given
+        record(1L);
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/changes/stream").param("after", "500"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = awaitContent(result, "\"lastOffset\":1");
+        assertThat(body).contains("event:" + ChangeStream.RESET_EVENT);
+    }
+
+    private void record(Long id) {
+        changeFeed.recordChange(ChangeEventDTO.EntityType.LOCATION, ChangeEventDTO.ChangeType.UPDATED, id, null);
+    }
+}
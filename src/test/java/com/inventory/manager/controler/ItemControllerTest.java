@@ -1,21 +1,36 @@
 package com.inventory.manager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.manager.dto.ChangeEventDTO;
 import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.LowStockAlertDTO;
 import com.inventory.manager.entity.Item;
+import com.inventory.manager.service.ChangeFeed;
+import com.inventory.manager.service.ItemImportService;
 import com.inventory.manager.service.ItemService;
+import com.inventory.manager.service.ResourceVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static com.inventory.manager.controller.SseResponses.awaitContent;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -24,6 +39,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ItemController.class)
+@Import({LowStockAlertStream.class, ResourceVersions.class, ChangeFeed.class, ItemControllerTest.Metrics.class})
 class ItemControllerTest {
     
     @Autowired
@@ -35,8 +51,28 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
     
+    @MockBean
+    private ItemImportService itemImportService;
+    
+    @Autowired
+    private LowStockAlertStream lowStockAlertStream;
+    
+    @Autowired
+    private ChangeFeed changeFeed;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     private ItemDTO testItemDTO;
     
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+    
     @BeforeEach
     void setUp() {
         testItemDTO = ItemDTO.builder()
@@ -63,6 +99,68 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name", is("Test Laptop")));
     }
     
+    @Test
+    void whenGetItemsPage_thenReturnPageWithNextCursor() throws Exception {
+        // given
+        when(itemService.getItemsAfter(0L, 1)).thenReturn(Arrays.asList(testItemDTO));
+        
+        // when & then
+        mockMvc.perform(get("/api/items")
+                .param("after", "0")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-After", "1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        
+        verify(itemService, never()).getAllItems();
+    }
+    
+    @Test
+    void whenGetEmptyItemsPage_thenNoNextCursor() throws Exception {
+        // given
+        when(itemService.getItemsAfter(1L, null)).thenReturn(List.of());
+        
+        // when & then
+        mockMvc.perform(get("/api/items")
+                .param("after", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-After"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+    
+    @Test
+    void whenStreamItems_thenReturnNdjson() throws Exception {
+        // given
+        ItemDTO secondItem = ItemDTO.builder()
+                .id(2L)
+                .name("Second Item")
+                .sku("TEST-002")
+                .quantity(3)
+                .unitPrice(BigDecimal.valueOf(1.50))
+                .build();
+        doAnswer(invocation -> {
+            Consumer<ItemDTO> consumer = invocation.getArgument(0);
+            consumer.accept(testItemDTO);
+            consumer.accept(secondItem);
+            return null;
+        }).when(itemService).streamAllItems(any());
+        
+        // when
+        MvcResult result = mockMvc.perform(get("/api/items/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], ItemDTO.class).getSku()).isEqualTo("TEST-001");
+        assertThat(objectMapper.readValue(lines[1], ItemDTO.class).getSku()).isEqualTo("TEST-002");
+    }
+    
     @Test
     void whenGetItemById_thenReturnItem() throws Exception {
         // given
@@ -76,6 +174,61 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.sku", is("TEST-001")));
     }
     
+    @Test
+    void whenGetItemByIdWithCurrentEtag_thenNotModifiedWithoutLoadingItem() throws Exception {
+        // given
+        when(itemService.getItemEtag(1L)).thenReturn("\"item-1-a-0-0\"");
+        when(itemService.getItemById(1L)).thenReturn(testItemDTO);
+        String etag = mockMvc.perform(get("/api/items/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        // when & then
+        mockMvc.perform(get("/api/items/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        
+        verify(itemService, times(1)).getItemById(1L);
+    }
+    
+    @Test
+    void whenOtherItemsMoveAfterEtag_thenSingleItemIsStillNotModified() throws Exception {
+        // given
+        when(itemService.getItemEtag(1L)).thenReturn("\"item-1-a-0-0\"");
+        when(itemService.getItemById(1L)).thenReturn(testItemDTO);
+        String etag = mockMvc.perform(get("/api/items/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.MOVEMENT, ChangeEventDTO.ChangeType.CREATED, 7L, null);
+        
+        // when & then
+        mockMvc.perform(get("/api/items/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        
+        verify(itemService, times(1)).getItemById(1L);
+    }
+    
+    @Test
+    void whenStockMovesAfterEtag_thenItemIsSentAgainWithNewEtag() throws Exception {
+        // given
+        when(itemService.getAllItems()).thenReturn(List.of(testItemDTO));
+        String etag = mockMvc.perform(get("/api/items"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        changeFeed.recordChange(ChangeEventDTO.EntityType.MOVEMENT, ChangeEventDTO.ChangeType.CREATED, 7L, null);
+        
+        // when & then
+        mockMvc.perform(get("/api/items")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$", hasSize(1)));
+        
+        verify(itemService, times(2)).getAllItems();
+    }
+    
     @Test
     void whenCreateItem_thenReturnCreated() throws Exception {
         // given
@@ -141,7 +294,7 @@ class ItemControllerTest {
     @Test
     void whenSearchItems_thenReturnMatchingItems() throws Exception {
         // given
-        when(itemService.searchItems("laptop")).thenReturn(Arrays.asList(testItemDTO));
+        when(itemService.searchItems("laptop", null)).thenReturn(Arrays.asList(testItemDTO));
         
         // when & then
         mockMvc.perform(get("/api/items/search")
@@ -150,4 +303,43 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].name", containsString("Laptop")));
     }
+    
+    @Test
+    void whenGetLowStockWithoutThreshold_thenUseReorderPoints() throws Exception {
+        // given
+        when(itemService.getLowStockItems(null)).thenReturn(Arrays.asList(testItemDTO));
+        
+        // when & then
+        mockMvc.perform(get("/api/items/low-stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(itemService).getLowStockItems(null);
+    }
+    
+    @Test
+    void whenLowStockAlertRaised_thenPushedToStreamSubscribers() throws Exception {
+        // given
+        MvcResult result = mockMvc.perform(get("/api/items/low-stock/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // when
+        lowStockAlertStream.onAlert(LowStockAlertDTO.builder()
+                .itemId(1L)
+                .sku("TEST-001")
+                .quantity(2)
+                .reorderPoint(5)
+                .type(LowStockAlertDTO.AlertType.LOW)
+                .build());
+        
+        // then
+        String body = awaitContent(result, "\"sku\":\"TEST-001\"");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(body)
+                .contains("event:" + LowStockAlertStream.EVENT_NAME)
+                .contains("\"sku\":\"TEST-001\"")
+                .contains("\"type\":\"LOW\"");
+        assertThat(meterRegistry.get("inventory.low-stock.subscribers").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("inventory.low-stock.slow.consumer.disconnects").counter().count()).isZero();
+    }
 }
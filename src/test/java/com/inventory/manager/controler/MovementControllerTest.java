@@ -13,9 +13,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -79,4 +84,42 @@ class MovementControllerTest {
                 .content(objectMapper.writeValueAsString(newMovement)))
                 .andExpect(status().isCreated());
     }
+    
+    @Test
+    void whenCreateMovementBatch_thenReturnCreated() throws Exception {
+        // given
+        List<MovementDTO> batch = Arrays.asList(
+                MovementDTO.builder().itemId(1L).toLocationId(2L).quantity(5)
+                        .type(Movement.MovementType.RECEIPT).build(),
+                MovementDTO.builder().itemId(1L).toLocationId(2L).quantity(3)
+                        .type(Movement.MovementType.SHIPMENT).build());
+        
+        when(movementService.createMovements(anyList())).thenReturn(Arrays.asList(testMovementDTO, testMovementDTO));
+        
+        // when & then
+        mockMvc.perform(post("/api/movements/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+    
+    @Test
+    void whenCreateMovementBatchWithInvalidElement_thenReturnBadRequest() throws Exception {
+        // given - у второго перемещения нет количества
+        List<MovementDTO> batch = Arrays.asList(
+                MovementDTO.builder().itemId(1L).toLocationId(2L).quantity(5)
+                        .type(Movement.MovementType.RECEIPT).build(),
+                MovementDTO.builder().itemId(1L).toLocationId(2L)
+                        .type(Movement.MovementType.SHIPMENT).build());
+        
+        // when & then
+        mockMvc.perform(post("/api/movements/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors[0].field", is("[1].quantity")));
+        
+        verify(movementService, never()).createMovements(anyList());
+    }
 }
@@ -0,0 +1,26 @@
+package com.inventory.manager.controller;
+
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Reads Server-Sent Events responses in MockMvc tests. The stream stays open, so
+ * {@code asyncDispatch} would wait for its timeout; frames are instead read from the live response
+ * as the sender thread writes them.
+ */
+final class SseResponses {
+
+    static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private SseResponses() {
+    }
+
+    /** The body once it contains {@code expected}; fails after {@link #TIMEOUT}. */
+    static String awaitContent(MvcResult result, String expected) {
+        return await().atMost(TIMEOUT)
+                .until(() -> result.getResponse().getContentAsString(), body -> body.contains(expected));
+    }
+}
@@ -1,5 +1,6 @@
 package com.inventory.manager.repository;
 
+import com.inventory.manager.dto.ItemDTO;
 import com.inventory.manager.entity.Item;
 import com.inventory.manager.entity.Location;
 import org.junit.jupiter.api.BeforeEach;
@@ -117,6 +118,27 @@ class ItemRepositoryTest {
         assertThat(items.get(0).getSku()).isEqualTo("TEST-LOW-001");
     }
 
+    @Test
+    void whenFindAtReorderPoint_thenOnlyWatchedItemsAtOrBelowTheirOwnPointAreReturned() {
+        // given
+        entityManager.persist(itemWithReorderPoint("TEST-RP-AT", 20, 20));
+        entityManager.persist(itemWithReorderPoint("TEST-RP-BELOW", 3, 10));
+        entityManager.persist(itemWithReorderPoint("TEST-RP-ABOVE", 11, 10));
+        entityManager.persist(itemWithReorderPoint("TEST-RP-NONE", 0, null));
+        entityManager.flush();
+
+        // when
+        List<ItemDTO> items = itemRepository.findItemDTOsAtReorderPoint();
+
+        // then: ordered by how far below the reorder point they are
+        assertThat(items).extracting(ItemDTO::getSku)
+                .filteredOn(sku -> sku.startsWith("TEST-RP-"))
+                .containsExactly("TEST-RP-BELOW", "TEST-RP-AT");
+        assertThat(items).filteredOn(item -> item.getSku().equals("TEST-RP-BELOW"))
+                .extracting(ItemDTO::getReorderPoint)
+                .containsExactly(10);
+    }
+
     @Test
     void whenSearchByName_thenReturnMatchingItems() {
         // given
@@ -145,4 +167,15 @@ class ItemRepositoryTest {
         assertThat(items).hasSize(1);
         assertThat(items.get(0).getName()).contains("Laptop");
     }
+
+    private static Item itemWithReorderPoint(String sku, int quantity, Integer reorderPoint) {
+        return Item.builder()
+                .name("Reorder Item " + sku)
+                .sku(sku)
+                .quantity(quantity)
+                .reorderPoint(reorderPoint)
+                .unitPrice(BigDecimal.ONE)
+                .status(Item.ItemStatus.AVAILABLE)
+                .build();
+    }
 }
@@ -0,0 +1,22 @@
+package com.inventory.manager.repository;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * {@link QueryPlanTest} against a real PostgreSQL 16+ database, migrated from
+ * {@code db/postgresql}. Only runs with {@code -Dexplain.postgresql.url=jdbc:postgresql://...}
+ * (plus {@code explain.postgresql.username} and {@code explain.postgresql.password}); use an
+ * empty scratch database, each test rolls back.
+ */
+@EnabledIfSystemProperty(named = "explain.postgresql.url", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${explain.postgresql.url}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.datasource.username=${explain.postgresql.username:postgres}",
+        "spring.datasource.password=${explain.postgresql.password:}",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.locations=classpath:db/postgresql"
+})
+class PostgresQueryPlanTest extends QueryPlanTest {
+}
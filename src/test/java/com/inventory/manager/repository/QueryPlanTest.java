@@ -0,0 +1,170 @@
+package com.inventory.manager.repository;
+
+import com.inventory.manager.entity.Item;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs every selective {@link ItemRepository} and {@link MovementRepository} query, captures the
+ * SQL Hibernate sends and checks with {@code EXPLAIN} that no table is read in full.
+ *
+ * <p>Left out on purpose: the unfiltered list and stream queries, which read everything by
+ * design, and {@code searchByName}, whose {@code LIKE '%keyword%'} no B-tree index can serve
+ * (searches go through {@code ItemSearchIndex}).
+ *
+ * <p>Runs on the H2 test database; {@link PostgresQueryPlanTest} runs the same checks against
+ * PostgreSQL.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.inventory.manager.repository.QueryPlanTest$CapturingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Records the SQL of every statement Hibernate prepares. */
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Test
+    void itemRepositoryQueriesUseIndexes() {
+        SoftAssertions softly = new SoftAssertions();
+        assertIndexed(softly, "findBySku", () -> itemRepository.findBySku("LAPTOP-001"));
+        assertIndexed(softly, "findByIdGreaterThanOrderByIdAsc",
+                () -> itemRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+        assertIndexed(softly, "findByLocationId", () -> itemRepository.findByLocationId(1L));
+        assertIndexed(softly, "findBySupplierId", () -> itemRepository.findBySupplierId(1L));
+        assertIndexed(softly, "countByLocationId", () -> itemRepository.countByLocationId(1L));
+        assertIndexed(softly, "countBySupplierId", () -> itemRepository.countBySupplierId(1L));
+        assertIndexed(softly, "existsByLocationId", () -> itemRepository.existsByLocationId(1L));
+        assertIndexed(softly, "existsBySupplierId", () -> itemRepository.existsBySupplierId(1L));
+        assertIndexed(softly, "countByLocationIdIn", () -> itemRepository.countByLocationIdIn(List.of(1L, 2L)));
+        assertIndexed(softly, "countBySupplierIdIn", () -> itemRepository.countBySupplierIdIn(List.of(1L, 2L)));
+        assertIndexed(softly, "findByStatus", () -> itemRepository.findByStatus(Item.ItemStatus.RESERVED));
+        assertIndexed(softly, "findLowStockItems", () -> itemRepository.findLowStockItems(5));
+        assertIndexed(softly, "findLowStockItemDTOs", () -> itemRepository.findLowStockItemDTOs(5));
+        assertIndexed(softly, "findAllByIdInForUpdate", () -> itemRepository.findAllByIdInForUpdate(List.of(1L, 2L)));
+        assertIndexed(softly, "findByIdForUpdate", () -> itemRepository.findByIdForUpdate(1L));
+        assertIndexed(softly, "findAllBySkuInForUpdate",
+                () -> itemRepository.findAllBySkuInForUpdate(List.of("LAPTOP-001", "MOUSE-001")));
+        assertIndexed(softly, "findItemDTOsAfter", () -> itemRepository.findItemDTOsAfter(0L, Limit.of(10)));
+        assertIndexed(softly, "findItemDTOsChangedSince", () -> itemRepository.findItemDTOsChangedSince(NOW, Limit.of(10)));
+        assertIndexed(softly, "findItemDTOsAtReorderPoint", () -> itemRepository.findItemDTOsAtReorderPoint());
+        assertIndexed(softly, "findItemDTOsByIdIn", () -> itemRepository.findItemDTOsByIdIn(List.of(1L, 2L)));
+        assertIndexed(softly, "findSearchDocumentsAfter",
+                () -> itemRepository.findSearchDocumentsAfter(0L, Limit.of(10)));
+        softly.assertAll();
+    }
+
+    @Test
+    void movementRepositoryQueriesUseIndexes() {
+        SoftAssertions softly = new SoftAssertions();
+        assertIndexed(softly, "findByItemId", () -> movementRepository.findByItemId(1L));
+        assertIndexed(softly, "findByIdGreaterThanOrderByIdAsc",
+                () -> movementRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+        assertIndexed(softly, "findByFromLocationId", () -> movementRepository.findByFromLocationId(1L));
+        assertIndexed(softly, "findByToLocationId", () -> movementRepository.findByToLocationId(1L));
+        assertIndexed(softly, "findByDateRange",
+                () -> movementRepository.findByDateRange(NOW.minusDays(1), NOW));
+        assertIndexed(softly, "findLastSequenceNumber", () -> movementRepository.findLastSequenceNumber(1L));
+        assertIndexed(softly, "findLastSequenceNumbers",
+                () -> movementRepository.findLastSequenceNumbers(List.of(1L, 2L)));
+        assertIndexed(softly, "findMovementDTOsAfter",
+                () -> movementRepository.findMovementDTOsAfter(0L, Limit.of(10)));
+        assertIndexed(softly, "findMovementDTOsByItemId", () -> movementRepository.findMovementDTOsByItemId(1L));
+        assertIndexed(softly, "findMovementDTOsChangedSince",
+                () -> movementRepository.findMovementDTOsChangedSince(NOW, Limit.of(10)));
+        assertIndexed(softly, "findMovementDTOsByDateRange",
+                () -> movementRepository.findMovementDTOsByDateRange(NOW.minusDays(1), NOW));
+        softly.assertAll();
+    }
+
+    private void assertIndexed(SoftAssertions softly, String query, Runnable call) {
+        CapturingInspector.STATEMENTS.clear();
+        call.run();
+        List<String> selects = CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+
+        softly.assertThat(selects).as(query).isNotEmpty();
+        for (String sql : selects) {
+            Plan plan = jdbcTemplate.execute((ConnectionCallback<Plan>) connection -> explain(connection, sql));
+            softly.assertThat(plan.text()).as("%s reads a whole table:%n%s", query, plan.text())
+                    .doesNotContain(plan.fullScanMarker());
+        }
+    }
+
+    private static Plan explain(Connection connection, String sql) throws SQLException {
+        if (connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+            try (Statement statement = connection.createStatement()) {
+                // tiny test tables are cheapest to scan; only a query without a usable index still scans
+                statement.execute("SET LOCAL enable_seqscan = off");
+                // GENERIC_PLAN (PostgreSQL 16+) plans without values but wants $n placeholders
+                StringBuilder generic = new StringBuilder("EXPLAIN (GENERIC_PLAN) ");
+                int parameter = 0;
+                for (char c : sql.toCharArray()) {
+                    if (c == '?') {
+                        generic.append('$').append(++parameter);
+                    } else {
+                        generic.append(c);
+                    }
+                }
+                return new Plan(read(statement.executeQuery(generic.toString())), "Seq Scan");
+            }
+        }
+        // H2 plans at prepare time, so the parameter values do not matter
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            return new Plan(read(statement.executeQuery()), ".tableScan");
+        }
+    }
+
+    private static String read(ResultSet resultSet) throws SQLException {
+        try (resultSet) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+
+    private record Plan(String text, String fullScanMarker) {
+    }
+}
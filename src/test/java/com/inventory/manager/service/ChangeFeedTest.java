@@ -0,0 +1,119 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ChangeEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeFeedTest {
+
+    private ChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new ChangeFeed(3, new ResourceVersions());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void whenChangesAreRecorded_thenListenersReceiveThemWithIncreasingOffsets() {
+        List<ChangeEventDTO> received = new ArrayList<>();
+        changeFeed.subscribe(null, received::add);
+
+        record(1L);
+        record(2L);
+
+        assertThat(received).extracting(ChangeEventDTO::getOffset).containsExactly(1L, 2L);
+        assertThat(received).extracting(ChangeEventDTO::getId).containsExactly(1L, 2L);
+        assertThat(received.get(0).getData()).isEqualTo("item 1");
+    }
+
+    @Test
+    void whenResumingFromARetainedOffset_thenOnlyLaterChangesAreReplayed() {
+        record(1L);
+        record(2L);
+        record(3L);
+
+        ChangeFeed.Subscription subscription = changeFeed.subscribe(1L, change -> { });
+
+        assertThat(subscription.missedChanges()).isFalse();
+        assertThat(subscription.backlog()).extracting(ChangeEventDTO::getOffset).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void whenResumingFromAnOffsetNoLongerRetained_thenMissedChangesAreReported() {
+        for (long id = 1; id <= 5; id++) {
+            record(id);
+        }
+
+        ChangeFeed.Subscription tooOld = changeFeed.subscribe(1L, change -> { });
+        // offsets from before a restart are ahead of the new feed
+        ChangeFeed.Subscription fromAnotherRun = changeFeed.subscribe(42L, change -> { });
+        ChangeFeed.Subscription oldestRetained = changeFeed.subscribe(2L, change -> { });
+
+        assertThat(tooOld.missedChanges()).isTrue();
+        assertThat(tooOld.backlog()).isEmpty();
+        assertThat(tooOld.lastOffset()).isEqualTo(5L);
+        assertThat(fromAnotherRun.missedChanges()).isTrue();
+        assertThat(oldestRetained.missedChanges()).isFalse();
+        assertThat(oldestRetained.backlog()).extracting(ChangeEventDTO::getOffset).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void whenSubscriptionIsCancelled_thenListenerReceivesNothingMore() {
+        List<ChangeEventDTO> received = new ArrayList<>();
+        ChangeFeed.Subscription subscription = changeFeed.subscribe(null, received::add);
+
+        record(1L);
+        subscription.cancel().run();
+        record(2L);
+
+        assertThat(received).hasSize(1);
+    }
+
+    @Test
+    void whenRecordedInsideATransaction_thenAppendedOnlyOnCommit() {
+        List<ChangeEventDTO> received = new ArrayList<>();
+        changeFeed.subscribe(null, received::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        record(1L);
+        assertThat(received).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(received).extracting(ChangeEventDTO::getId).containsExactly(1L);
+        assertThat(changeFeed.lastOffset()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenTransactionRollsBack_thenNothingIsAppended() {
+        List<ChangeEventDTO> received = new ArrayList<>();
+        changeFeed.subscribe(null, received::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        record(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(received).isEmpty();
+        assertThat(changeFeed.lastOffset()).isZero();
+    }
+
+    private void record(Long id) {
+        changeFeed.recordChange(ChangeEventDTO.EntityType.ITEM, ChangeEventDTO.ChangeType.UPDATED, id,
+                () -> "item " + id);
+    }
+}
@@ -0,0 +1,166 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.dto.SyncDeltaDTO;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.TombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class DeltaSyncTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    private LocalDateTime cursor;
+    private Long warehouseA;
+
+    @BeforeEach
+    void setUp() {
+        warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+        cursor = LocalDateTime.now().minusSeconds(1);
+    }
+
+    @Test
+    void whenItemsChangeAfterTheCursor_thenOnlyTheyAreReturned() {
+        Long created = createItem("DELTA-001").getId();
+        ItemDTO updated = createItem("DELTA-002");
+        updated.setQuantity(7);
+        itemService.updateItem(updated.getId(), updated);
+
+        SyncDeltaDTO<ItemDTO> delta = itemService.getItemsChangedSince(cursor);
+
+        assertThat(delta.getChanged()).extracting(ItemDTO::getId).contains(created, updated.getId());
+        assertThat(delta.getChanged()).filteredOn(item -> item.getId().equals(updated.getId()))
+                .extracting(ItemDTO::getQuantity).containsExactly(7);
+        assertThat(delta.getDeleted()).isEmpty();
+        assertThat(itemService.getItemsChangedSince(LocalDateTime.now().plusMinutes(1)).getChanged()).isEmpty();
+    }
+
+    @Test
+    void whenItemIsDeleted_thenItsIdIsReportedOnce() {
+        Long id = createItem("DELTA-003").getId();
+        itemService.deleteItem(id);
+
+        SyncDeltaDTO<ItemDTO> delta = itemService.getItemsChangedSince(cursor);
+
+        assertThat(delta.getDeleted()).containsExactly(id);
+        assertThat(delta.getChanged()).extracting(ItemDTO::getId).doesNotContain(id);
+        assertThat(itemService.getItemsChangedSince(LocalDateTime.now().plusMinutes(1)).getDeleted()).isEmpty();
+    }
+
+    @Test
+    void whenLocationIsUpdated_thenItShowsUpAsChanged() {
+        Long id = locationRepository.save(Location.builder()
+                .name("Delta Dock")
+                .code("DELTA-DOCK")
+                .type(Location.LocationType.WAREHOUSE)
+                .build()).getId();
+        LocationDTO location = locationService.getLocationById(id);
+        location.setAddress("Pier 4");
+        locationService.updateLocation(id, location);
+
+        SyncDeltaDTO<LocationDTO> delta = locationService.getLocationsChangedSince(cursor);
+
+        assertThat(delta.getChanged()).filteredOn(changed -> changed.getId().equals(id))
+                .singleElement()
+                .satisfies(changed -> {
+                    assertThat(changed.getAddress()).isEqualTo("Pier 4");
+                    assertThat(changed.getUpdatedAt()).isAfterOrEqualTo(cursor);
+                });
+        assertThat(delta.getChanged()).extracting(LocationDTO::getId).doesNotContain(warehouseA);
+    }
+
+    @Test
+    void whenPolledWithinTheCommitLag_thenCursorDoesNotMoveBackwards() {
+        LocalDateTime justNow = LocalDateTime.now();
+
+        assertThat(itemService.getItemsChangedSince(justNow).getChangedUntil()).isEqualTo(justNow);
+        assertThat(itemService.getItemsChangedSince(cursor.minusMinutes(1)).getChangedUntil())
+                .isBefore(LocalDateTime.now());
+    }
+
+    @Test
+    void whenMoreChangesThanFit_thenDeltaIsCutBeforeATimestampAndResumedFromIt() {
+        DeltaSyncService deltaSync = new DeltaSyncService(tombstoneRepository, Duration.ofSeconds(5),
+                Duration.ofDays(30), 3);
+        LocalDateTime t = cursor.minusMinutes(10);
+        List<LocalDateTime> rows = List.of(t, t.plusSeconds(1), t.plusSeconds(2), t.plusSeconds(2), t.plusSeconds(3));
+
+        SyncDeltaDTO<LocalDateTime> first = deltaSync.changesSince(t, changedSince(rows), row -> row);
+
+        // the two rows at t+2s stay together
+        assertThat(first.getChanged()).containsExactly(t, t.plusSeconds(1));
+        assertThat(first.getChangedUntil()).isEqualTo(t.plusSeconds(2));
+        assertThat(first.isHasMore()).isTrue();
+
+        SyncDeltaDTO<LocalDateTime> second = deltaSync.changesSince(first.getChangedUntil(), changedSince(rows),
+                row -> row);
+
+        assertThat(second.getChanged()).containsExactly(t.plusSeconds(2), t.plusSeconds(2), t.plusSeconds(3));
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    void whenMoreChangesThanFitShareTheCursor_thenAllOfThemAreReturned() {
+        DeltaSyncService deltaSync = new DeltaSyncService(tombstoneRepository, Duration.ofSeconds(5),
+                Duration.ofDays(30), 1);
+        LocalDateTime t = cursor.minusMinutes(10);
+        List<LocalDateTime> rows = List.of(t, t, t.plusSeconds(1));
+
+        SyncDeltaDTO<LocalDateTime> delta = deltaSync.changesSince(t, changedSince(rows), row -> row);
+
+        assertThat(delta.getChanged()).containsExactly(t, t, t.plusSeconds(1));
+        assertThat(delta.isHasMore()).isFalse();
+    }
+
+    @Test
+    void whenCursorIsOlderThanTheTombstoneRetention_thenRejected() {
+        assertThatThrownBy(() -> itemService.getItemsChangedSince(LocalDateTime.now().minusDays(31)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("tombstone retention");
+    }
+
+    private static BiFunction<LocalDateTime, Limit, List<LocalDateTime>> changedSince(List<LocalDateTime> rows) {
+        return (since, limit) -> rows.stream()
+                .filter(row -> !row.isBefore(since))
+                .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                .toList();
+    }
+
+    private ItemDTO createItem(String sku) {
+        return itemService.createItem(ItemDTO.builder()
+                .name("Delta Item " + sku)
+                .sku(sku)
+                .quantity(3)
+                .unitPrice(BigDecimal.ONE)
+                .locationId(warehouseA)
+                .build());
+    }
+}
@@ -0,0 +1,142 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ItemImportResultDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class ItemImportServiceTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private StockLevelRepository stockLevelRepository;
+
+    @Test
+    void whenImportCsv_thenUpsertBySkuAndReportInvalidRows() throws IOException {
+        String csv = """
+                SKU,Item Name,Description,Quantity,Unit Price,Location Code,Supplier Id
+                IMPORT-CSV-1,Imported One,First,5,1.50,WH-A,1
+                IMPORT-CSV-2,Imported Two,,7,2.00,,
+                ITEM-001,Renamed Item,,42,10.50,WH-B,2
+                IMPORT-CSV-3,Negative,,-1,1.00,,
+                IMPORT-CSV-4,Nowhere,,1,1.00,NOPE,
+                """;
+
+        ItemImportResultDTO result = itemImportService.importItems(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "items.csv");
+
+        assertThat(result.getTotalRows()).isEqualTo(5);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors())
+                .extracting(ItemImportResultDTO.RowError::getRow, ItemImportResultDTO.RowError::getSku)
+                .containsExactly(
+                        tuple(5L, "IMPORT-CSV-3"),
+                        tuple(6L, "IMPORT-CSV-4"));
+
+        Item updated = itemRepository.findBySku("ITEM-001").orElseThrow();
+        assertThat(updated.getName()).isEqualTo("Renamed Item");
+        assertThat(updated.getQuantity()).isEqualTo(42);
+        assertThat(updated.getLocation().getCode()).isEqualTo("WH-B");
+        assertThat(itemRepository.findBySku("IMPORT-CSV-1")).isPresent();
+        assertThat(itemRepository.findBySku("IMPORT-CSV-4")).isEmpty();
+    }
+
+    @Test
+    void whenReimportWithoutLocationOrSupplier_thenExistingOnesAreKept() throws IOException {
+        Item before = itemRepository.findBySku("ITEM-001").orElseThrow();
+        Long locationId = before.getLocation().getId();
+        Long supplierId = before.getSupplier().getId();
+        String csv = """
+                SKU,Item Name,Quantity,Unit Price
+                ITEM-001,Repriced Item,100,12.00
+                """;
+
+        ItemImportResultDTO result = itemImportService.importItems(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "prices.csv");
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        Item updated = itemRepository.findBySku("ITEM-001").orElseThrow();
+        assertThat(updated.getUnitPrice()).isEqualByComparingTo(new BigDecimal("12.00"));
+        assertThat(updated.getLocation().getId()).isEqualTo(locationId);
+        assertThat(updated.getSupplier().getId()).isEqualTo(supplierId);
+        assertThat(stockLevelRepository.findQuantity(updated.getId(), locationId)).contains(100);
+    }
+
+    @Test
+    void whenImportXlsxAcrossChunks_thenAllRowsInserted() throws IOException {
+        int rows = ItemImportService.CHUNK_SIZE + 250;
+
+        ItemImportResultDTO result = itemImportService.importItems(
+                new ByteArrayInputStream(workbook(rows)), "items.xlsx");
+
+        assertThat(result.getTotalRows()).isEqualTo(rows);
+        assertThat(result.getInserted()).isEqualTo(rows);
+        assertThat(result.getFailed()).isZero();
+
+        Item last = itemRepository.findBySku("IMPORT-XLSX-" + (rows - 1)).orElseThrow();
+        assertThat(last.getQuantity()).isEqualTo(rows - 1);
+        assertThat(last.getUnitPrice()).isEqualByComparingTo(new BigDecimal("1234.50"));
+    }
+
+    @Test
+    void whenRequiredColumnMissing_thenThrowException() {
+        String csv = "sku,name\nIMPORT-BAD,No Quantity\n";
+
+        assertThatThrownBy(() -> itemImportService.importItems(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "items.csv"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("quantity");
+    }
+
+    private static byte[] workbook(int rows) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Items");
+            Row header = sheet.createRow(0);
+            String[] columns = {"SKU", "Name", "Quantity", "Unit Price", "Location Code"};
+            for (int i = 0; i < columns.length; i++) {
+                header.createCell(i).setCellValue(columns[i]);
+            }
+            short moneyFormat = workbook.createDataFormat().getFormat("#,##0.00");
+            var moneyStyle = workbook.createCellStyle();
+            moneyStyle.setDataFormat(moneyFormat);
+            for (int i = 0; i < rows; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue("IMPORT-XLSX-" + i);
+                row.createCell(1).setCellValue("Imported " + i);
+                row.createCell(2).setCellValue(i);
+                row.createCell(3).setCellValue(1234.5);
+                row.getCell(3).setCellStyle(moneyStyle);
+                row.createCell(4).setCellValue("WH-A");
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.inventory.manager.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest {
+    
+    private ItemSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(null, null);
+        index.apply(ItemSearchIndex.document(1L, "Dell Laptop 15\"", "LAP-001", "Business notebook"));
+        index.apply(ItemSearchIndex.document(2L, "Laptop Stand", "ACC-204", "Aluminium stand for laptops"));
+        index.apply(ItemSearchIndex.document(3L, "USB-C Cable", "CAB-010", "1m braided cable"));
+        index.apply(ItemSearchIndex.document(4L, "Wireless Mouse", "MOU-777", null));
+    }
+    
+    @Test
+    void whenSearchByPrefix_thenNamePrefixRanksFirst() {
+        List<ItemSearchIndex.Hit> hits = index.search("lapt", 10);
+        
+        assertThat(hits).extracting(ItemSearchIndex.Hit::itemId).containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void whenSearchWithTypo_thenFuzzyMatchIsFound() {
+        assertThat(index.search("wirelss mouse", 10))
+                .extracting(ItemSearchIndex.Hit::itemId)
+                .containsExactly(4L);
+    }
+    
+    @Test
+    void whenSearchBySku_thenExactSkuRanksFirst() {
+        List<ItemSearchIndex.Hit> hits = index.search("cab-010", 10);
+        
+        assertThat(hits.get(0).itemId()).isEqualTo(3L);
+    }
+    
+    @Test
+    void whenSearchByDescriptionWord_thenItemIsFound() {
+        assertThat(index.search("braided", 10))
+                .extracting(ItemSearchIndex.Hit::itemId)
+                .containsExactly(3L);
+    }
+    
+    @Test
+    void whenLimitIsSmallerThanMatches_thenOnlyBestHitsReturned() {
+        assertThat(index.search("laptop", 1))
+                .extracting(ItemSearchIndex.Hit::itemId)
+                .containsExactly(2L);
+    }
+    
+    @Test
+    void whenItemUpdatedOrRemoved_thenIndexFollows() {
+        index.apply(ItemSearchIndex.document(4L, "Trackball", "MOU-777", null));
+        index.apply(new ItemSearchIndex.Document(2L, null, null, null));
+        
+        assertThat(index.search("wireless", 10)).isEmpty();
+        assertThat(index.search("trackball", 10)).extracting(ItemSearchIndex.Hit::itemId).containsExactly(4L);
+        assertThat(index.search("laptop", 10)).extracting(ItemSearchIndex.Hit::itemId).containsExactly(1L);
+        assertThat(index.search("laptop stand", 10)).extracting(ItemSearchIndex.Hit::itemId).doesNotContain(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+    
+    @Test
+    void whenQueryHasNoLettersOrDigits_thenNoHits() {
+        assertThat(index.search(" -- ", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,111 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.config.CacheConfig;
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemService.class, StockSummaryService.class, ReferenceDataCache.class, CacheConfig.class, ItemSearchIndex.class,
+        LowStockAlertService.class, ChangeFeed.class, ResourceVersions.class, DeltaSyncService.class})
+class ItemServiceStatementCountTest {
+    
+    private static final int ITEM_COUNT = 20;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private ItemService itemService;
+    
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        Location[] locations = new Location[3];
+        for (int i = 0; i < locations.length; i++) {
+            locations[i] = entityManager.persist(Location.builder()
+                    .name("Count Warehouse " + i)
+                    .code("CNT-WH-" + i)
+                    .type(Location.LocationType.WAREHOUSE)
+                    .build());
+        }
+        // suppliers.code is NOT NULL in the schema but not mapped on the entity, so reuse the seeded rows
+        List<Supplier> suppliers = entityManager.getEntityManager()
+                .createQuery("SELECT s FROM Supplier s", Supplier.class)
+                .getResultList();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            entityManager.persist(Item.builder()
+                    .name("Counted Widget " + i)
+                    .sku("CNT-" + i)
+                    .quantity(i)
+                    .unitPrice(BigDecimal.TEN)
+                    .location(locations[i % locations.length])
+                    .supplier(suppliers.get(i % suppliers.size()))
+                    .status(Item.ItemStatus.AVAILABLE)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // the items are not committed, so the index would never hear about them
+        itemSearchIndex.rebuild();
+        
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void whenGetAllItems_thenSingleStatementAndNoEntityLoads() {
+        List<ItemDTO> items = itemService.getAllItems();
+        
+        assertThat(items).extracting(ItemDTO::getLocationName).doesNotContainNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+    
+    @Test
+    void whenSearchItems_thenSingleStatementAndNoEntityLoads() {
+        List<ItemDTO> items = itemService.searchItems("counted widget", null);
+        
+        assertThat(items).hasSize(ITEM_COUNT);
+        assertThat(items).extracting(ItemDTO::getSupplierName).doesNotContainNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+    
+    @Test
+    void whenGetLowStockItems_thenSingleStatementAndNoEntityLoads() {
+        List<ItemDTO> items = itemService.getLowStockItems(10);
+        
+        assertThat(items).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+    
+    @Test
+    void whenGetItemsPage_thenSingleStatementAndNoEntityLoads() {
+        List<ItemDTO> items = itemService.getItemsAfter(0L, 5);
+        
+        assertThat(items).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
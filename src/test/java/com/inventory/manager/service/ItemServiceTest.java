@@ -1,10 +1,13 @@
 package com.inventory.manager.service;
 
 import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.LocationDTO;
 import com.inventory.manager.entity.Item;
 import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Tombstone;
 import com.inventory.manager.repository.ItemRepository;
 import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.StockLevelRepository;
 import com.inventory.manager.repository.SupplierRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -22,6 +26,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,15 +37,38 @@ class ItemServiceTest {
     
     @Mock
     private LocationRepository locationRepository;
+
+    @Mock
+    private StockLevelRepository stockLevelRepository;
+
+    @Mock
+    private LowStockAlertService lowStockAlerts;
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    @Mock
+    private DeltaSyncService deltaSync;
     
     @Mock
     private SupplierRepository supplierRepository;
     
+    @Mock
+    private StockSummaryService stockSummaryService;
+    
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    
+    @Mock
+    private ReferenceDataCache referenceData;
+    
     @InjectMocks
     private ItemService itemService;
     
     private Item testItem;
+    private ItemDTO testItemDTO;
     private Location testLocation;
+    private LocationDTO testLocationDTO;
     
     @BeforeEach
     void setUp() {
@@ -50,6 +78,12 @@ class ItemServiceTest {
                 .code("TL-001")
                 .build();
         
+        testLocationDTO = LocationDTO.builder()
+                .id(1L)
+                .name("Test Location")
+                .code("TL-001")
+                .build();
+        
         testItem = Item.builder()
                 .id(1L)
                 .name("Test Item")
@@ -59,12 +93,23 @@ class ItemServiceTest {
                 .location(testLocation)
                 .status(Item.ItemStatus.AVAILABLE)
                 .build();
+        
+        testItemDTO = ItemDTO.builder()
+                .id(1L)
+                .name("Test Item")
+                .sku("TEST-001")
+                .quantity(10)
+                .unitPrice(BigDecimal.valueOf(99.99))
+                .locationId(1L)
+                .locationName("Test Location")
+                .status(Item.ItemStatus.AVAILABLE)
+                .build();
     }
     
     @Test
     void whenGetAllItems_thenReturnItemList() {
         // given
-        when(itemRepository.findAll()).thenReturn(Arrays.asList(testItem));
+        when(itemRepository.findAllItemDTOs()).thenReturn(Arrays.asList(testItemDTO));
         
         // when
         List<ItemDTO> items = itemService.getAllItems();
@@ -72,13 +117,36 @@ class ItemServiceTest {
         // then
         assertThat(items).hasSize(1);
         assertThat(items.get(0).getName()).isEqualTo("Test Item");
-        verify(itemRepository, times(1)).findAll();
+        verify(itemRepository, times(1)).findAllItemDTOs();
+        verify(itemRepository, never()).findAll();
+    }
+    
+    @Test
+    void whenGetItemsAfter_thenUseKeysetQueryWithClampedLimit() {
+        // given
+        when(itemRepository.findItemDTOsAfter(0L, Limit.of(1000)))
+                .thenReturn(Arrays.asList(testItemDTO));
+        
+        // when
+        List<ItemDTO> items = itemService.getItemsAfter(null, 5000);
+        
+        // then
+        assertThat(items).hasSize(1);
+        verify(itemRepository, never()).findAll();
+    }
+    
+    @Test
+    void whenGetItemsAfterWithNonPositiveLimit_thenThrowException() {
+        assertThatThrownBy(() -> itemService.getItemsAfter(0L, 0))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Limit must be positive");
     }
     
     @Test
     void whenGetItemById_thenReturnItem() {
         // given
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(referenceData.findLocation(1L)).thenReturn(testLocationDTO);
         
         // when
         ItemDTO found = itemService.getItemById(1L);
@@ -86,6 +154,8 @@ class ItemServiceTest {
         // then
         assertThat(found.getName()).isEqualTo("Test Item");
         assertThat(found.getSku()).isEqualTo("TEST-001");
+        assertThat(found.getLocationName()).isEqualTo("Test Location");
+        verifyNoInteractions(locationRepository);
     }
     
     @Test
@@ -111,7 +181,8 @@ class ItemServiceTest {
                 .build();
         
         when(itemRepository.findBySku("NEW-001")).thenReturn(Optional.empty());
-        when(locationRepository.findById(1L)).thenReturn(Optional.of(testLocation));
+        when(referenceData.findLocation(1L)).thenReturn(testLocationDTO);
+        when(locationRepository.getReferenceById(1L)).thenReturn(testLocation);
         when(itemRepository.save(any(Item.class))).thenReturn(testItem);
         
         // when
@@ -122,6 +193,26 @@ class ItemServiceTest {
         verify(itemRepository, times(1)).save(any(Item.class));
     }
     
+    @Test
+    void whenCreateItemWithUnknownLocation_thenThrowException() {
+        // given
+        ItemDTO itemDTO = ItemDTO.builder()
+                .name("New Item")
+                .sku("NEW-002")
+                .quantity(5)
+                .unitPrice(BigDecimal.valueOf(50.00))
+                .locationId(99L)
+                .build();
+        
+        when(itemRepository.findBySku("NEW-002")).thenReturn(Optional.empty());
+        
+        // then
+        assertThatThrownBy(() -> itemService.createItem(itemDTO))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Location not found");
+        verify(itemRepository, never()).save(any(Item.class));
+    }
+    
     @Test
     void whenCreateItemWithDuplicateSku_thenThrowException() {
         // given
@@ -151,7 +242,7 @@ class ItemServiceTest {
                 .status(Item.ItemStatus.AVAILABLE)
                 .build();
         
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testItem));
         when(itemRepository.save(any(Item.class))).thenReturn(testItem);
         
         // when
@@ -165,26 +256,39 @@ class ItemServiceTest {
     @Test
     void whenDeleteItem_thenRepositoryDeleteIsCalled() {
         // given
-        when(itemRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(itemRepository).deleteById(1L);
+        when(itemRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testItem));
         
         // when
         itemService.deleteItem(1L);
         
         // then
-        verify(itemRepository, times(1)).deleteById(1L);
+        verify(itemRepository, times(1)).delete(testItem);
+        verify(stockSummaryService).recordChange(any(StockSummaryService.ItemStock.class), isNull());
+        verify(deltaSync).recordDeletion(Tombstone.EntityType.ITEM, 1L);
     }
     
     @Test
-    void whenSearchItems_thenReturnMatchingItems() {
+    void whenSearchItems_thenReturnItemsInRelevanceOrder() {
         // given
-        when(itemRepository.searchByName("test")).thenReturn(Arrays.asList(testItem));
+        ItemDTO otherItemDTO = ItemDTO.builder().id(2L).name("Test Item Two").sku("TEST-002").build();
+        when(itemSearchIndex.search("test", 100)).thenReturn(Arrays.asList(
+                new ItemSearchIndex.Hit(2L, 1.5), new ItemSearchIndex.Hit(1L, 0.75)));
+        when(itemRepository.findItemDTOsByIdIn(Arrays.asList(2L, 1L)))
+                .thenReturn(Arrays.asList(testItemDTO, otherItemDTO));
         
         // when
-        List<ItemDTO> items = itemService.searchItems("test");
+        List<ItemDTO> items = itemService.searchItems("test", null);
         
         // then
-        assertThat(items).hasSize(1);
-        verify(itemRepository, times(1)).searchByName("test");
+        assertThat(items).extracting(ItemDTO::getId).containsExactly(2L, 1L);
+        verify(itemRepository, never()).searchItemDTOsByName(anyString());
+    }
+    
+    @Test
+    void whenSearchFindsNothing_thenNoQueryIsRun() {
+        when(itemSearchIndex.search("nothing", 100)).thenReturn(List.of());
+        
+        assertThat(itemService.searchItems("nothing", null)).isEmpty();
+        verifyNoInteractions(itemRepository);
     }
 }
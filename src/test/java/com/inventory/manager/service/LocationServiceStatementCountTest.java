@@ -0,0 +1,100 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.config.CacheConfig;
+import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Location;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({LocationService.class, ReferenceDataCache.class, CacheConfig.class, ChangeFeed.class, ResourceVersions.class,
+        DeltaSyncService.class})
+class LocationServiceStatementCountTest {
+
+    private static final int ITEMS_PER_LOCATION = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LocationService locationService;
+
+    private Location[] locations;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        locations = new Location[4];
+        for (int i = 0; i < locations.length; i++) {
+            locations[i] = entityManager.persist(Location.builder()
+                    .name("Counted Location " + i)
+                    .code("CL-00" + i)
+                    .type(Location.LocationType.WAREHOUSE)
+                    .build());
+        }
+        // последняя локация остаётся пустой
+        for (int i = 0; i < locations.length - 1; i++) {
+            for (int j = 0; j < ITEMS_PER_LOCATION; j++) {
+                entityManager.persist(Item.builder()
+                        .name("Located Widget " + i + "-" + j)
+                        .sku("LOC-" + i + "-" + j)
+                        .quantity(j)
+                        .unitPrice(BigDecimal.ONE)
+                        .location(locations[i])
+                        .status(Item.ItemStatus.AVAILABLE)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenGetLocationsPage_thenItemsAreCountedWithOneGroupedQuery() {
+        // начинаем после сидов: STORE-1 имеет тип, которого нет в enum
+        List<LocationDTO> page = locationService.getLocationsAfter(locations[0].getId() - 1, 100);
+
+        assertThat(page).extracting(LocationDTO::getItemCount)
+                .containsExactly(ITEMS_PER_LOCATION, ITEMS_PER_LOCATION, ITEMS_PER_LOCATION, 0);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(locations.length);
+    }
+
+    @Test
+    void whenDeleteLocationWithItems_thenRejectedWithoutLoadingThem() {
+        assertThatThrownBy(() -> locationService.deleteLocation(locations[0].getId()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Cannot delete location with existing items");
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenDeleteEmptyLocation_thenDeleted() {
+        Long emptyLocationId = locations[locations.length - 1].getId();
+
+        locationService.deleteLocation(emptyLocationId);
+        entityManager.flush();
+
+        assertThat(entityManager.find(Location.class, emptyLocationId)).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.LowStockAlertDTO;
+import com.inventory.manager.entity.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockAlertServiceTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LowStockAlertService lowStockAlertService;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        item = Item.builder()
+                .id(1L)
+                .name("Watched Item")
+                .sku("WATCH-001")
+                .quantity(15)
+                .reorderPoint(10)
+                .unitPrice(BigDecimal.ONE)
+                .build();
+    }
+
+    @Test
+    void whenQuantityFallsToTheReorderPoint_thenLowAlertIsPublished() {
+        lowStockAlertService.recordChange(item, position(15, 10), position(10, 10));
+
+        LowStockAlertDTO alert = publishedAlert();
+        assertThat(alert.getType()).isEqualTo(LowStockAlertDTO.AlertType.LOW);
+        assertThat(alert.getItemId()).isEqualTo(1L);
+        assertThat(alert.getSku()).isEqualTo("WATCH-001");
+        assertThat(alert.getQuantity()).isEqualTo(10);
+        assertThat(alert.getReorderPoint()).isEqualTo(10);
+    }
+
+    @Test
+    void whenQuantityStaysOnTheSameSide_thenNothingIsPublished() {
+        lowStockAlertService.recordChange(item, position(8, 10), position(2, 10));
+        lowStockAlertService.recordChange(item, position(40, 10), position(11, 10));
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void whenQuantityRisesAboveTheReorderPoint_thenRestockedAlertIsPublished() {
+        lowStockAlertService.recordChange(item, position(4, 10), position(54, 10));
+
+        assertThat(publishedAlert().getType()).isEqualTo(LowStockAlertDTO.AlertType.RESTOCKED);
+    }
+
+    @Test
+    void whenReorderPointIsRaisedAboveTheQuantity_thenLowAlertIsPublished() {
+        lowStockAlertService.recordChange(item, position(15, null), position(15, 20));
+
+        assertThat(publishedAlert().getType()).isEqualTo(LowStockAlertDTO.AlertType.LOW);
+    }
+
+    @Test
+    void whenNewItemStartsBelowItsReorderPoint_thenLowAlertIsPublished() {
+        lowStockAlertService.recordChange(item, null, position(0, 5));
+
+        assertThat(publishedAlert().getType()).isEqualTo(LowStockAlertDTO.AlertType.LOW);
+    }
+
+    private static LowStockAlertService.StockPosition position(int quantity, Integer reorderPoint) {
+        return new LowStockAlertService.StockPosition(quantity, reorderPoint);
+    }
+
+    private LowStockAlertDTO publishedAlert() {
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return (LowStockAlertDTO) event.getValue();
+    }
+}
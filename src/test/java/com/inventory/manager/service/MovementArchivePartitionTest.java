@@ -0,0 +1,75 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.repository.MovementArchiveRepository;
+import com.inventory.manager.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * The PostgreSQL path of {@link MovementArchiveService}, which the H2 tests cannot reach.
+ */
+@ExtendWith(MockitoExtension.class)
+class MovementArchivePartitionTest {
+
+    @Mock
+    private MovementArchiveRepository movementArchiveRepository;
+
+    @Mock
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MovementArchiveService movementArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        movementArchiveService = new MovementArchiveService(movementArchiveRepository, stockSnapshotRepository,
+                stockLedgerService, jdbcTemplate, transactionManager, Period.ofMonths(12), true, 3);
+    }
+
+    @Test
+    void whenDetachingPartitionsFails_thenComingPartitionsAreStillEnsured() {
+        // given
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<String>>any(), any(Object[].class)))
+                .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        // when & then
+        assertThatThrownBy(movementArchiveService::archiveColdMovements)
+                .isInstanceOf(CannotAcquireLockException.class);
+        verify(movementArchiveRepository).ensurePartitions(LocalDate.now(), 3);
+        verify(movementArchiveRepository, never()).archivePartitionsBefore(any());
+    }
+
+    @Test
+    void whenApplicationStarts_thenComingPartitionsAreEnsured() {
+        // when
+        movementArchiveService.ensurePartitionsOnStartup();
+
+        // then
+        verify(movementArchiveRepository).ensurePartitions(LocalDate.now(), 3);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,156 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.StockSnapshot;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.MovementArchiveRepository;
+import com.inventory.manager.repository.MovementRepository;
+import com.inventory.manager.repository.StockSnapshotRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class MovementArchiveServiceTest {
+    
+    private static final LocalDateTime TWO_YEARS_AGO = LocalDateTime.now().minusYears(2);
+    
+    @Autowired
+    private MovementArchiveService movementArchiveService;
+    
+    @Autowired
+    private MovementService movementService;
+    
+    @Autowired
+    private ItemService itemService;
+    
+    @Autowired
+    private StockLedgerService stockLedgerService;
+    
+    @Autowired
+    private MovementArchiveRepository movementArchiveRepository;
+    
+    @Autowired
+    private MovementRepository movementRepository;
+    
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+    
+    @Autowired
+    private LocationRepository locationRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Long warehouseA;
+    private Long itemId;
+    
+    @BeforeEach
+    void setUp() {
+        warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+        itemId = itemService.createItem(ItemDTO.builder()
+                .name("Archive Item")
+                .sku("ARCHIVE-001")
+                .quantity(10)
+                .unitPrice(BigDecimal.ONE)
+                .locationId(warehouseA)
+                .build()).getId();
+        insertOldMovement(990001L, 1L, TWO_YEARS_AGO);
+        insertOldMovement(990002L, 2L, TWO_YEARS_AGO.plusDays(1));
+    }
+    
+    @Test
+    void whenColdMonthsAreArchived_thenOnlyRecentMovementsStayHot() {
+        movementService.createMovement(receipt(5));
+        
+        long archived = movementArchiveService.archiveColdMovements();
+        
+        assertThat(archived).isGreaterThanOrEqualTo(2);
+        assertThat(movementRepository.findByItemId(itemId)).extracting(Movement::getSequenceNumber)
+                .containsExactly(3L);
+        assertThat(movementArchiveRepository.findLastSequenceNumber(itemId)).isEqualTo(2L);
+        assertThat(movementArchiveRepository.findById(990001L)).get()
+                .satisfies(movement -> assertThat(movement.getQuantityAfter()).isEqualTo(1));
+    }
+    
+    @Test
+    void whenColdMonthsAreArchived_thenMovementReadsStillCoverThem() {
+        MovementDTO recent = movementService.createMovement(receipt(5));
+        
+        movementArchiveService.archiveColdMovements();
+        
+        assertThat(movementService.getMovementsByItem(itemId)).extracting(MovementDTO::getSequenceNumber)
+                .containsExactly(1L, 2L, 3L);
+        assertThat(movementService.getMovementsByDateRange(TWO_YEARS_AGO.minusDays(1), TWO_YEARS_AGO.plusDays(2)))
+                .extracting(MovementDTO::getId, MovementDTO::getItemName, MovementDTO::getToLocationName)
+                .containsExactly(tuple(990001L, "Archive Item", "Warehouse A"),
+                        tuple(990002L, "Archive Item", "Warehouse A"));
+        assertThat(movementService.getMovementsAfter(recent.getId() - 1, 3)).extracting(MovementDTO::getId)
+                .containsExactly(recent.getId(), 990001L, 990002L);
+    }
+    
+    @Test
+    void whenWholeLedgerIsArchived_thenNumberingContinuesAfterTheArchive() {
+        movementArchiveService.archiveColdMovements();
+        
+        MovementDTO single = movementService.createMovement(receipt(5));
+        
+        assertThat(single.getSequenceNumber()).isEqualTo(3L);
+        assertThat(movementService.createMovements(List.of(receipt(1))))
+                .extracting(MovementDTO::getSequenceNumber).containsExactly(4L);
+    }
+    
+    @Test
+    void whenSnapshotsPrecedeTheCutoff_thenTheyGoAndPointInTimeQueriesThereAreRejected() {
+        stockSnapshotRepository.save(StockSnapshot.builder().takenAt(TWO_YEARS_AGO.plusHours(1)).build());
+        
+        movementArchiveService.archiveColdMovements();
+        
+        assertThatThrownBy(() -> stockLedgerService.getStockAsOf(TWO_YEARS_AGO.plusDays(2)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("No stock snapshot");
+        assertThat(stockLedgerService.getStockAsOf(LocalDateTime.now())).isNotEmpty();
+    }
+    
+    @Test
+    void cutoffIsTheStartOfTheMonthArchiveAfterAgo() {
+        assertThat(movementArchiveService.archiveCutoff(LocalDate.of(2026, 10, 18)))
+                .isEqualTo(LocalDateTime.of(2025, 10, 1, 0, 0));
+    }
+    
+    private void insertOldMovement(Long id, Long sequenceNumber, LocalDateTime movementDate) {
+        entityManager.createNativeQuery("INSERT INTO movements (id, item_id, type, quantity, to_location_id, "
+                        + "movement_date, sequence_no, quantity_after) VALUES (?, ?, 'RECEIPT', 1, ?, ?, ?, ?)")
+                .setParameter(1, id)
+                .setParameter(2, itemId)
+                .setParameter(3, warehouseA)
+                .setParameter(4, movementDate)
+                .setParameter(5, sequenceNumber)
+                .setParameter(6, sequenceNumber.intValue())
+                .executeUpdate();
+    }
+    
+    private MovementDTO receipt(int quantity) {
+        return MovementDTO.builder()
+                .itemId(itemId)
+                .toLocationId(warehouseA)
+                .quantity(quantity)
+                .type(Movement.MovementType.RECEIPT)
+                .build();
+    }
+}
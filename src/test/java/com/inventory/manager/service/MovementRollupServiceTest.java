@@ -0,0 +1,161 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.dto.MovementTimeseriesDTO;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.MovementRollup;
+import com.inventory.manager.repository.LocationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class MovementRollupServiceTest {
+    
+    @Autowired
+    private MovementRollupService movementRollupService;
+    
+    @Autowired
+    private ItemService itemService;
+    
+    @Autowired
+    private MovementService movementService;
+    
+    @Autowired
+    private MovementArchiveService movementArchiveService;
+    
+    @Autowired
+    private LocationRepository locationRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Long warehouseA;
+    private Long warehouseB;
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    
+    @BeforeEach
+    void setUp() {
+        // start from rollups that match the movements table, whatever other tests left behind
+        movementRollupService.rebuild();
+        warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+        warehouseB = locationRepository.findByCode("WH-B").orElseThrow().getId();
+        itemId = itemService.createItem(ItemDTO.builder()
+                .name("Rollup Item")
+                .sku("ROLLUP-001")
+                .quantity(100)
+                .unitPrice(BigDecimal.ONE)
+                .locationId(warehouseA)
+                .build()).getId();
+        from = LocalDateTime.now().minusDays(1);
+        to = LocalDateTime.now().plusDays(1);
+    }
+    
+    @Test
+    void whenMovementsCreated_thenTodaysBucketCountsThemPerType() {
+        movementService.createMovement(movement(Movement.MovementType.RECEIPT, 10, warehouseA));
+        movementService.createMovements(List.of(
+                movement(Movement.MovementType.RECEIPT, 5, warehouseA),
+                movement(Movement.MovementType.SHIPMENT, 3, warehouseB)));
+        
+        List<MovementTimeseriesDTO> series = movementRollupService.getTimeseries(MovementRollup.Granularity.DAY,
+                MovementRollupService.GroupBy.TYPE, from, to, itemId, null);
+        
+        assertThat(series).extracting(MovementTimeseriesDTO::getBucketStart)
+                .containsOnly(LocalDateTime.now().truncatedTo(ChronoUnit.DAYS));
+        assertThat(series).extracting(MovementTimeseriesDTO::getType, MovementTimeseriesDTO::getMovementCount,
+                        MovementTimeseriesDTO::getTotalQuantity)
+                .containsExactly(
+                        tuple(Movement.MovementType.RECEIPT, 2L, 15L),
+                        tuple(Movement.MovementType.SHIPMENT, 1L, 3L));
+    }
+    
+    @Test
+    void whenGroupedByLocation_thenMovementsCountAtTheirDestination() {
+        movementService.createMovement(movement(Movement.MovementType.RECEIPT, 10, warehouseA));
+        movementService.createMovement(movement(Movement.MovementType.TRANSFER, 4, warehouseB));
+        
+        List<MovementTimeseriesDTO> series = movementRollupService.getTimeseries(MovementRollup.Granularity.HOUR,
+                MovementRollupService.GroupBy.LOCATION, from, to, itemId, null);
+        
+        assertThat(series).extracting(MovementTimeseriesDTO::getLocationId).containsOnly(warehouseA, warehouseB);
+        assertThat(series).extracting(MovementTimeseriesDTO::getItemId).containsOnlyNulls();
+        assertThat(series).filteredOn(point -> point.getLocationId().equals(warehouseB))
+                .extracting(MovementTimeseriesDTO::getTotalQuantity).containsExactly(4L);
+    }
+    
+    @Test
+    void whenMovementsCreatedThroughAllWriters_thenIncrementalRollupsMatchRebuild() {
+        movementService.createMovement(movement(Movement.MovementType.RECEIPT, 10, warehouseA));
+        movementService.createMovement(movement(Movement.MovementType.TRANSFER, 4, warehouseB));
+        movementService.createMovements(List.of(
+                movement(Movement.MovementType.ADJUSTMENT, 50, warehouseA),
+                movement(Movement.MovementType.SHIPMENT, 2, warehouseB)));
+        
+        List<MovementTimeseriesDTO> hourly = series(MovementRollup.Granularity.HOUR);
+        List<MovementTimeseriesDTO> daily = series(MovementRollup.Granularity.DAY);
+        
+        entityManager.flush();
+        movementRollupService.rebuild();
+        
+        assertThat(hourly).isEqualTo(series(MovementRollup.Granularity.HOUR));
+        assertThat(daily).isEqualTo(series(MovementRollup.Granularity.DAY));
+    }
+    
+    @Test
+    void whenColdMonthsAreArchived_thenRebuildStillCountsThem() {
+        LocalDateTime twoYearsAgo = LocalDateTime.now().minusYears(2);
+        entityManager.createNativeQuery("INSERT INTO movements (id, item_id, type, quantity, to_location_id, "
+                        + "movement_date, sequence_no, quantity_after) VALUES (990101, ?, 'RECEIPT', 7, ?, ?, 1, 107)")
+                .setParameter(1, itemId)
+                .setParameter(2, warehouseA)
+                .setParameter(3, twoYearsAgo)
+                .executeUpdate();
+        
+        movementArchiveService.archiveColdMovements();
+        movementRollupService.rebuild();
+        
+        assertThat(movementRollupService.getTimeseries(MovementRollup.Granularity.DAY,
+                MovementRollupService.GroupBy.NONE, twoYearsAgo.minusDays(1), twoYearsAgo.plusDays(1), itemId, null))
+                .extracting(MovementTimeseriesDTO::getMovementCount, MovementTimeseriesDTO::getTotalQuantity)
+                .containsExactly(tuple(1L, 7L));
+    }
+    
+    @Test
+    void whenRangeIsEmpty_thenRejected() {
+        assertThatThrownBy(() -> movementRollupService.getTimeseries(MovementRollup.Granularity.DAY,
+                MovementRollupService.GroupBy.NONE, to, from, null, null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("from must be before to");
+    }
+    
+    private List<MovementTimeseriesDTO> series(MovementRollup.Granularity granularity) {
+        return movementRollupService.getTimeseries(granularity, MovementRollupService.GroupBy.ITEM, from, to,
+                null, null);
+    }
+    
+    private MovementDTO movement(Movement.MovementType type, int quantity, Long toLocationId) {
+        return MovementDTO.builder()
+                .itemId(itemId)
+                .toLocationId(toLocationId)
+                .quantity(quantity)
+                .type(type)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.StockLevel;
+import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.MovementRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a single item with concurrent receipts and shipments and checks that every
+ * committed movement is reflected in the final quantity exactly once.
+ */
+@SpringBootTest
+class MovementServiceConcurrencyTest {
+    
+    private static final int INITIAL_STOCK = 100;
+    private static final int OPERATIONS_PER_RUN = 512;
+    
+    @Autowired
+    private MovementService movementService;
+    
+    @Autowired
+    private ItemRepository itemRepository;
+    
+    @Autowired
+    private LocationRepository locationRepository;
+    
+    @Autowired
+    private MovementRepository movementRepository;
+    
+    @Autowired
+    private StockLevelRepository stockLevelRepository;
+    
+    private Item item;
+    private Location warehouse;
+    
+    @BeforeEach
+    void setUp() {
+        warehouse = locationRepository.findByCode("WH-A").orElseThrow();
+        item = itemRepository.save(Item.builder()
+                .name("Contended Item")
+                .sku("CONTENDED-" + System.nanoTime())
+                .quantity(INITIAL_STOCK)
+                .unitPrice(BigDecimal.ONE)
+                .location(warehouse)
+                .status(Item.ItemStatus.AVAILABLE)
+                .build());
+        stockLevelRepository.save(StockLevel.builder()
+                .itemId(item.getId())
+                .locationId(warehouse.getId())
+                .quantity(INITIAL_STOCK)
+                .build());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        movementRepository.deleteAll(movementRepository.findByItemId(item.getId()));
+        itemRepository.deleteById(item.getId());
+    }
+    
+    @ParameterizedTest(name = "{0} concurrent writers")
+    @ValueSource(ints = {8, 32, 128})
+    void whenConcurrentMovements_thenNoLostUpdatesAndNoOversell(int writers) throws Exception {
+        int operationsPerWriter = OPERATIONS_PER_RUN / writers;
+        AtomicInteger receipts = new AtomicInteger();
+        AtomicInteger shipments = new AtomicInteger();
+        AtomicInteger rejectedShipments = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int op = 0; op < operationsPerWriter; op++) {
+                    // one receipt for every three operations: demand outruns supply on purpose
+                    if (op % 3 == 0) {
+                        movementService.createMovement(movement(Movement.MovementType.RECEIPT));
+                        receipts.incrementAndGet();
+                    } else {
+                        try {
+                            movementService.createMovement(movement(Movement.MovementType.SHIPMENT));
+                            shipments.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            assertThat(e).hasMessageContaining("Insufficient quantity");
+                            rejectedShipments.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        
+        int committed = receipts.get() + shipments.get();
+        int finalQuantity = itemRepository.findById(item.getId()).orElseThrow().getQuantity();
+        
+        assertThat(committed + rejectedShipments.get()).isEqualTo(operationsPerWriter * writers);
+        assertThat(finalQuantity).isGreaterThanOrEqualTo(0);
+        assertThat(finalQuantity).isEqualTo(INITIAL_STOCK + receipts.get() - shipments.get());
+        assertThat(movementRepository.findByItemId(item.getId())).hasSize(committed);
+    }
+    
+    private MovementDTO movement(Movement.MovementType type) {
+        return MovementDTO.builder()
+                .itemId(item.getId())
+                .toLocationId(warehouse.getId())
+                .quantity(1)
+                .type(type)
+                .performedBy("stress-test")
+                .build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.config.CacheConfig;
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.StockLevel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({MovementService.class, StockSummaryService.class, ReferenceDataCache.class, CacheConfig.class,
+        LowStockAlertService.class, ChangeFeed.class, ResourceVersions.class, DeltaSyncService.class,
+        MovementRollupService.class})
+class MovementServiceStatementCountTest {
+    
+    private static final int MOVEMENTS_PER_ITEM = 15;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private MovementService movementService;
+    
+    private Statistics statistics;
+    private Item item;
+    private Location from;
+    private Location to;
+    
+    @BeforeEach
+    void setUp() {
+        from = entityManager.persist(Location.builder()
+                .name("History From")
+                .code("HIST-FROM")
+                .type(Location.LocationType.WAREHOUSE)
+                .build());
+        to = entityManager.persist(Location.builder()
+                .name("History To")
+                .code("HIST-TO")
+                .type(Location.LocationType.STORE)
+                .build());
+        item = entityManager.persist(Item.builder()
+                .name("History Item")
+                .sku("HIST-001")
+                .quantity(1000)
+                .unitPrice(BigDecimal.ONE)
+                .location(from)
+                .status(Item.ItemStatus.AVAILABLE)
+                .build());
+        Item otherItem = entityManager.persist(Item.builder()
+                .name("Other History Item")
+                .sku("HIST-002")
+                .quantity(1000)
+                .unitPrice(BigDecimal.ONE)
+                .location(to)
+                .status(Item.ItemStatus.AVAILABLE)
+                .build());
+        entityManager.persist(StockLevel.builder().itemId(item.getId()).locationId(from.getId()).quantity(1000).build());
+        entityManager.persist(StockLevel.builder().itemId(otherItem.getId()).locationId(to.getId()).quantity(1000).build());
+        for (int i = 0; i < MOVEMENTS_PER_ITEM; i++) {
+            entityManager.persist(Movement.builder()
+                    .item(item)
+                    .fromLocation(i % 2 == 0 ? from : null)
+                    .toLocation(to)
+                    .quantity(1)
+                    .type(i % 2 == 0 ? Movement.MovementType.TRANSFER : Movement.MovementType.RECEIPT)
+                    .performedBy("auditor")
+                    .sequenceNumber(i + 1L)
+                    .build());
+            entityManager.persist(Movement.builder()
+                    .item(otherItem)
+                    .fromLocation(to)
+                    .toLocation(from)
+                    .quantity(2)
+                    .type(Movement.MovementType.TRANSFER)
+                    .sequenceNumber(i + 1L)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void whenGetMovementsByItem_thenOneStatementPerTableAndNoEntityLoads() {
+        List<MovementDTO> movements = movementService.getMovementsByItem(item.getId());
+        
+        assertThat(movements).hasSize(MOVEMENTS_PER_ITEM);
+        assertThat(movements).extracting(MovementDTO::getItemName).containsOnly("History Item");
+        assertThat(movements).extracting(MovementDTO::getToLocationName).containsOnly("History To");
+        assertThat(movements).filteredOn(m -> m.getType() == Movement.MovementType.TRANSFER)
+                .extracting(MovementDTO::getFromLocationName).containsOnly("History From");
+        // one for movements, one for movements_archive
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+    
+    @Test
+    void whenGetMovementsByDateRange_thenOneStatementPerTableAndNoEntityLoads() {
+        List<MovementDTO> movements = movementService.getMovementsByDateRange(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+        
+        assertThat(movements).hasSizeGreaterThanOrEqualTo(2 * MOVEMENTS_PER_ITEM);
+        // one for movements, one for movements_archive
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+    
+    @Test
+    void whenCreateMovementBatch_thenReferencesResolvedInBulkAndWritesBatched() {
+        int batchSize = 200;
+        List<MovementDTO> batch = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(MovementDTO.builder()
+                    .itemId(item.getId())
+                    .fromLocationId(from.getId())
+                    .toLocationId(to.getId())
+                    .quantity(1)
+                    .type(i % 2 == 0 ? Movement.MovementType.SHIPMENT : Movement.MovementType.RECEIPT)
+                    .build());
+        }
+        
+        List<MovementDTO> created = movementService.createMovements(batch);
+        entityManager.flush();
+        
+        assertThat(created).hasSize(batchSize);
+        assertThat(created).extracting(MovementDTO::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(created).extracting(MovementDTO::getSequenceNumber)
+                .startsWith((long) MOVEMENTS_PER_ITEM + 1).endsWith((long) MOVEMENTS_PER_ITEM + batchSize);
+        // 4 lookups + 4 sequence calls + 4 insert batches + item and stock level updates
+        // + one rollup delta per type, not 5 statements per movement
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        assertThat(entityManager.find(Item.class, item.getId()).getQuantity()).isEqualTo(1000);
+    }
+    
+    @Test
+    void whenMovementBatchOversells_thenWholeBatchIsRejected() {
+        List<MovementDTO> batch = List.of(
+                MovementDTO.builder().itemId(item.getId()).toLocationId(to.getId()).quantity(10)
+                        .type(Movement.MovementType.SHIPMENT).build(),
+                MovementDTO.builder().itemId(item.getId()).toLocationId(to.getId()).quantity(5000)
+                        .type(Movement.MovementType.SHIPMENT).build());
+        
+        assertThatThrownBy(() -> movementService.createMovements(batch))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Movement #1")
+                .hasMessageContaining("Insufficient quantity");
+    }
+    
+    @Test
+    void whenGetAllMovements_thenOneStatementPerTableAndNoEntityLoads() {
+        List<MovementDTO> movements = movementService.getAllMovements();
+        
+        assertThat(movements).hasSizeGreaterThanOrEqualTo(2 * MOVEMENTS_PER_ITEM);
+        // one for movements, one for movements_archive
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
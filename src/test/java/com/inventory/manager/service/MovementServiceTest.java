@@ -1,12 +1,16 @@
 package com.inventory.manager.service;
 
+import com.inventory.manager.dto.LocationDTO;
 import com.inventory.manager.dto.MovementDTO;
 import com.inventory.manager.entity.Item;
 import com.inventory.manager.entity.Location;
 import com.inventory.manager.entity.Movement;
 import com.inventory.manager.repository.ItemRepository;
 import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.MovementArchiveRepository;
 import com.inventory.manager.repository.MovementRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,18 +32,47 @@ class MovementServiceTest {
     @Mock
     private MovementRepository movementRepository;
 
+    @Mock
+    private MovementArchiveRepository movementArchiveRepository;
+
     @Mock
     private ItemRepository itemRepository;
 
     @Mock
     private LocationRepository locationRepository;
 
+    @Mock
+    private StockLevelRepository stockLevelRepository;
+
+    @Mock
+    private LowStockAlertService lowStockAlerts;
+
+    @Mock
+    private MovementRollupService movementRollups;
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    @Mock
+    private DeltaSyncService deltaSync;
+
+    @Mock
+    private StockSummaryService stockSummaryService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ReferenceDataCache referenceData;
+
     @InjectMocks
     private MovementService movementService;
 
     private Item testItem;
     private Location fromLocation;
     private Location toLocation;
+    private LocationDTO fromLocationDTO;
+    private LocationDTO toLocationDTO;
 
     @BeforeEach
     void setUp() {
@@ -55,6 +88,9 @@ class MovementServiceTest {
                 .code("TO-001")
                 .build();
 
+        fromLocationDTO = LocationDTO.builder().id(1L).name("From Location").code("FROM-001").build();
+        toLocationDTO = LocationDTO.builder().id(2L).name("To Location").code("TO-001").build();
+
         testItem = Item.builder()
                 .id(1L)
                 .name("Test Item")
@@ -67,7 +103,7 @@ class MovementServiceTest {
     }
 
     @Test
-    void whenCreateTransferMovement_thenQuantityIsUpdated() {
+    void whenCreateTransferMovement_thenStockMovesBetweenLocations() {
         // given
         MovementDTO movementDTO = MovementDTO.builder()
                 .itemId(1L)
@@ -78,9 +114,11 @@ class MovementServiceTest {
                 .performedBy("Admin")
                 .build();
 
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(locationRepository.findById(1L)).thenReturn(Optional.of(fromLocation));
-        when(locationRepository.findById(2L)).thenReturn(Optional.of(toLocation));
+        when(itemRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testItem));
+        when(referenceData.findLocation(1L)).thenReturn(fromLocationDTO);
+        when(locationRepository.getReferenceById(1L)).thenReturn(fromLocation);
+        when(referenceData.findLocation(2L)).thenReturn(toLocationDTO);
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
 
         // Mock возвращает Movement с заполненным item
         Movement savedMovement = Movement.builder()
@@ -92,13 +130,17 @@ class MovementServiceTest {
                 .toLocation(toLocation)
                 .build();
         when(movementRepository.save(any(Movement.class))).thenReturn(savedMovement);
+        when(stockLevelRepository.takeQuantity(1L, 1L, 10)).thenReturn(1);
 
         // when
         movementService.createMovement(movementDTO);
 
-        // then
-        assertThat(testItem.getQuantity()).isEqualTo(40); // 50 - 10
-        verify(itemRepository, times(1)).save(testItem);
+        // then: только 10 единиц переезжают, общий остаток и основная локация не меняются
+        verify(stockLevelRepository, times(1)).takeQuantity(1L, 1L, 10);
+        verify(stockLevelRepository, times(1)).addQuantity(1L, 2L, 10);
+        assertThat(testItem.getQuantity()).isEqualTo(50);
+        assertThat(testItem.getLocation()).isSameAs(fromLocation);
+        verify(itemRepository, never()).save(any(Item.class));
         verify(movementRepository, times(1)).save(any(Movement.class));
     }
 
@@ -113,13 +155,20 @@ class MovementServiceTest {
                 .type(Movement.MovementType.TRANSFER)
                 .build();
 
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(locationRepository.findById(2L)).thenReturn(Optional.of(toLocation));
+        when(itemRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testItem));
+        when(referenceData.findLocation(1L)).thenReturn(fromLocationDTO);
+        when(locationRepository.getReferenceById(1L)).thenReturn(fromLocation);
+        when(referenceData.findLocation(2L)).thenReturn(toLocationDTO);
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
+        // условный UPDATE не нашёл строку с достаточным остатком в исходной локации
+        when(stockLevelRepository.takeQuantity(1L, 1L, 100)).thenReturn(0);
 
         // then
         assertThatThrownBy(() -> movementService.createMovement(movementDTO))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Insufficient quantity");
+        verify(stockLevelRepository, never()).addQuantity(any(), any(), any());
+        verify(movementRepository, never()).save(any(Movement.class));
     }
 
     @Test
@@ -132,8 +181,9 @@ class MovementServiceTest {
                 .type(Movement.MovementType.RECEIPT)
                 .build();
 
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(locationRepository.findById(2L)).thenReturn(Optional.of(toLocation));
+        when(itemRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testItem));
+        when(referenceData.findLocation(2L)).thenReturn(toLocationDTO);
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
 
         // Mock возвращает Movement с заполненным item
         Movement savedMovement = Movement.builder()
@@ -149,8 +199,36 @@ class MovementServiceTest {
         movementService.createMovement(movementDTO);
 
         // then
-        assertThat(testItem.getQuantity()).isEqualTo(70); // 50 + 20
-        verify(itemRepository, times(1)).save(testItem);
+        assertThat(testItem.getQuantity()).isEqualTo(70);
+        verify(stockLevelRepository, times(1)).addQuantity(1L, 2L, 20);
+        verify(lowStockAlerts, times(1)).recordChange(testItem,
+                new LowStockAlertService.StockPosition(50, null),
+                new LowStockAlertService.StockPosition(70, null));
         verify(movementRepository, times(1)).save(any(Movement.class));
     }
+
+    @Test
+    void whenCreateReturnMovement_thenQuantityIncreasesAndLedgerEntryIsNumbered() {
+        // given
+        MovementDTO movementDTO = MovementDTO.builder()
+                .itemId(1L)
+                .toLocationId(2L)
+                .quantity(5)
+                .type(Movement.MovementType.RETURN)
+                .build();
+
+        when(itemRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testItem));
+        when(referenceData.findLocation(2L)).thenReturn(toLocationDTO);
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
+        when(movementRepository.findLastSequenceNumber(1L)).thenReturn(7L);
+        when(movementRepository.save(any(Movement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        MovementDTO created = movementService.createMovement(movementDTO);
+
+        // then
+        assertThat(testItem.getQuantity()).isEqualTo(55);
+        assertThat(created.getSequenceNumber()).isEqualTo(8L);
+        assertThat(created.getQuantityAfter()).isEqualTo(55);
+    }
 }
@@ -0,0 +1,92 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.repository.LocationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private ReferenceDataCache referenceData;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long warehouseA;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+    }
+
+    @Test
+    void whenLocationReadTwice_thenSecondReadIsServedFromCache() {
+        double hitsBefore = cacheGets(ReferenceDataCache.LOCATIONS, "hit");
+
+        LocationDTO first = referenceData.findLocation(warehouseA);
+        LocationDTO second = referenceData.findLocation(warehouseA);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets(ReferenceDataCache.LOCATIONS, "hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void whenLocationUpdated_thenCachedEntriesAreEvicted() {
+        LocationDTO cached = referenceData.findLocation(warehouseA);
+        referenceData.findLocationByCode(cached.getCode());
+
+        locationService.updateLocation(warehouseA, cached.toBuilder()
+                .name("Warehouse A (renamed)")
+                .code("WH-Z")
+                .type(Location.LocationType.WAREHOUSE)
+                .build());
+
+        assertThat(referenceData.findLocation(warehouseA).getName()).isEqualTo("Warehouse A (renamed)");
+        assertThat(referenceData.findLocationByCode(cached.getCode())).isNull();
+        assertThat(referenceData.findLocationByCode("WH-Z").getId()).isEqualTo(warehouseA);
+    }
+
+    @Test
+    void whenLocationMissing_thenMissIsNotCached() {
+        assertThat(referenceData.findLocation(-1L)).isNull();
+
+        assertThat(cacheManager.getCache(ReferenceDataCache.LOCATIONS).get(-1L)).isNull();
+    }
+
+    @Test
+    void whenLocationFetchedThroughService_thenItemCountIsFresh() {
+        LocationDTO location = locationService.getLocationById(warehouseA);
+
+        assertThat(location.getItemCount()).isNotNull();
+        assertThat(referenceData.findLocation(warehouseA).getItemCount()).isNull();
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
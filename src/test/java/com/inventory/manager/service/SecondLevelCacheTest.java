@@ -0,0 +1,186 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.LocationDTO;
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.MovementRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with the second-level cache on and without a test transaction, since cache entries are
+ * only updated and invalidated when the writing transaction completes.
+ */
+@SpringBootTest(properties = "inventory.l2-cache.enabled=true")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private MovementService movementService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> createdItems = new ArrayList<>();
+    private final List<Long> createdLocations = new ArrayList<>();
+    private Statistics statistics;
+    private Long warehouseA;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long id : createdItems) {
+            movementRepository.deleteAll(movementRepository.findByItemId(id));
+            itemRepository.deleteById(id);
+        }
+        createdLocations.forEach(locationRepository::deleteById);
+    }
+
+    @Test
+    void whenItemIsReadAgain_thenNoStatementIsExecuted() {
+        Long id = createItem("L2-READ").getId();
+        itemService.getItemById(id);
+
+        long statementsBefore = statistics.getPrepareStatementCount();
+        ItemDTO item = itemService.getItemById(id);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+        assertThat(item.getSku()).startsWith("L2-READ");
+        assertThat(entityManagerFactory.getCache().contains(Item.class, id)).isTrue();
+    }
+
+    @Test
+    void whenItemIsUpdated_thenNextReadSeesTheChange() {
+        ItemDTO item = createItem("L2-UPDATE");
+        itemService.getItemById(item.getId());
+
+        item.setName("Renamed Item");
+        itemService.updateItem(item.getId(), item);
+
+        assertThat(itemService.getItemById(item.getId()).getName()).isEqualTo("Renamed Item");
+    }
+
+    @Test
+    void whenMovementChangesStock_thenCachedItemIsReplacedAndLocationsStayCached() {
+        Long id = createItem("L2-MOVE").getId();
+        itemService.getItemById(id);
+        locationRepository.findById(warehouseA);
+
+        movementService.createMovement(MovementDTO.builder()
+                .itemId(id)
+                .toLocationId(warehouseA)
+                .type(Movement.MovementType.RECEIPT)
+                .quantity(5)
+                .performedBy("test")
+                .build());
+
+        assertThat(itemService.getItemById(id).getQuantity()).isEqualTo(15);
+        // the movement's native writes name their own tables, so unrelated regions are kept
+        assertThat(entityManagerFactory.getCache().contains(Location.class, warehouseA)).isTrue();
+    }
+
+    @Test
+    void whenAnotherItemMoves_thenCachedItemIsStillHit() {
+        Long cached = createItem("L2-KEEP").getId();
+        Long moved = createItem("L2-OTHER").getId();
+        itemService.getItemById(cached);
+
+        movementService.createMovement(MovementDTO.builder()
+                .itemId(moved)
+                .toLocationId(warehouseA)
+                .type(Movement.MovementType.RECEIPT)
+                .quantity(5)
+                .performedBy("test")
+                .build());
+
+        long hitsBefore = statistics.getSecondLevelCacheHitCount();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        assertThat(itemService.getItemById(cached).getQuantity()).isEqualTo(10);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hitsBefore);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+    }
+
+    @Test
+    void whenSkuIsLookedUpAgain_thenQueryCacheAnswersUntilItemsChange() {
+        String sku = "L2-SKU-" + System.nanoTime();
+        assertThat(itemRepository.findBySku(sku)).isEmpty();
+        long hitsBefore = statistics.getQueryCacheHitCount();
+        assertThat(itemRepository.findBySku(sku)).isEmpty();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitsBefore + 1);
+
+        createdItems.add(itemService.createItem(item(sku)).getId());
+
+        assertThat(itemRepository.findBySku(sku)).isPresent();
+    }
+
+    @Test
+    void whenLocationIsUpdated_thenCachedLookupByCodeSeesTheChange() {
+        String code = "L2-" + (System.nanoTime() % 1_000_000);
+        LocationDTO location = locationService.createLocation(LocationDTO.builder()
+                .name("Cached Location")
+                .code(code)
+                .type(Location.LocationType.STORAGE)
+                .build());
+        createdLocations.add(location.getId());
+        locationRepository.findByCode(code);
+
+        location.setName("Renamed Location");
+        locationService.updateLocation(location.getId(), location);
+
+        assertThat(locationRepository.findByCode(code)).get()
+                .extracting(Location::getName).isEqualTo("Renamed Location");
+    }
+
+    private ItemDTO createItem(String skuPrefix) {
+        ItemDTO item = itemService.createItem(item(skuPrefix + "-" + System.nanoTime()));
+        createdItems.add(item.getId());
+        return item;
+    }
+
+    private ItemDTO item(String sku) {
+        return ItemDTO.builder()
+                .name("Cached Item")
+                .sku(sku)
+                .quantity(10)
+                .unitPrice(BigDecimal.ONE)
+                .locationId(warehouseA)
+                .status(Item.ItemStatus.AVAILABLE)
+                .build();
+    }
+}
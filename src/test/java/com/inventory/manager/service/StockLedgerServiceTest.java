@@ -0,0 +1,163 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.dto.StockReportDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.entity.StockLevel;
+import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class StockLedgerServiceTest {
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private MovementService movementService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private StockLevelRepository stockLevelRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long warehouseA;
+    private Long warehouseB;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        // other tests may leave names of rolled-back renames in the reference data cache
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+        warehouseB = locationRepository.findByCode("WH-B").orElseThrow().getId();
+        item = itemRepository.save(Item.builder()
+                .name("Ledger Item")
+                .sku("LEDGER-001")
+                .quantity(10)
+                .unitPrice(BigDecimal.valueOf(2))
+                .location(locationRepository.getReferenceById(warehouseA))
+                .status(Item.ItemStatus.AVAILABLE)
+                .build());
+        stockLevelRepository.save(StockLevel.builder().itemId(item.getId()).locationId(warehouseA).quantity(10).build());
+        stockLedgerService.takeSnapshot();
+    }
+
+    @Test
+    void whenMovementsRecorded_thenLedgerIsNumberedAndCarriesRunningQuantity() {
+        move(Movement.MovementType.RECEIPT, 5, warehouseA);
+        move(Movement.MovementType.RETURN, 3, warehouseA);
+        move(Movement.MovementType.ADJUSTMENT, 12, warehouseA);
+        move(Movement.MovementType.SHIPMENT, 4, warehouseB);
+
+        List<MovementDTO> ledger = movementService.getMovementsByItem(item.getId());
+
+        assertThat(ledger).extracting(MovementDTO::getSequenceNumber).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(ledger).extracting(MovementDTO::getQuantityAfter).containsExactly(15, 18, 12, 8);
+    }
+
+    @Test
+    void whenStockRequestedAsOf_thenSnapshotIsRolledForwardByTheLedgerTail() {
+        move(Movement.MovementType.RECEIPT, 5, warehouseA);
+        move(Movement.MovementType.TRANSFER, 6, warehouseB);
+        List<MovementDTO> ledger = movementService.getMovementsByItem(item.getId());
+
+        assertThat(stockOf(ledger.get(0).getMovementDate())).isEqualTo(new StockLedgerService.ItemStockAsOf(
+                item.getId(), warehouseA, 15));
+        // a transfer moves stock between locations; the total and the home location stay
+        assertThat(stockOf(ledger.get(1).getMovementDate())).isEqualTo(new StockLedgerService.ItemStockAsOf(
+                item.getId(), warehouseA, 15));
+
+        // a newer snapshot gives the same answer without any tail
+        stockLedgerService.takeSnapshot();
+        assertThat(stockOf(LocalDateTime.now())).isEqualTo(new StockLedgerService.ItemStockAsOf(
+                item.getId(), warehouseA, 15));
+    }
+
+    @Test
+    void whenStockReportRequestedAsOf_thenQuantitiesAndLocationsAreHistorical() {
+        move(Movement.MovementType.RECEIPT, 5, warehouseA);
+        move(Movement.MovementType.SHIPMENT, 15, warehouseB);
+        LocalDateTime afterReceipt = movementService.getMovementsByItem(item.getId()).get(0).getMovementDate();
+
+        StockReportDTO row = reportService.generateStockReportAsOf(afterReceipt).stream()
+                .filter(report -> report.getItemId().equals(item.getId()))
+                .findFirst().orElseThrow();
+
+        assertThat(row.getQuantity()).isEqualTo(15);
+        assertThat(row.getTotalValue()).isEqualByComparingTo("30");
+        assertThat(row.getLocationName()).isEqualTo(locationRepository.findByCode("WH-A").orElseThrow().getName());
+    }
+
+    @Test
+    void whenStockReportRequestedAsOf_thenTransferredStockIsReportedWhereItWas() {
+        String nameA = locationRepository.findByCode("WH-A").orElseThrow().getName();
+        String nameB = locationRepository.findByCode("WH-B").orElseThrow().getName();
+        move(Movement.MovementType.TRANSFER, 4, warehouseB);
+        move(Movement.MovementType.TRANSFER, 6, warehouseB);
+        LocalDateTime afterFirst = movementService.getMovementsByItem(item.getId()).get(0).getMovementDate();
+
+        assertThat(reportOf(afterFirst)).extracting(StockReportDTO::getLocationName, StockReportDTO::getQuantity)
+                .containsExactlyInAnyOrder(tuple(nameA, 6), tuple(nameB, 4));
+
+        // a newer snapshot carries the stock levels themselves
+        stockLedgerService.takeSnapshot();
+        assertThat(reportOf(LocalDateTime.now())).extracting(StockReportDTO::getLocationName,
+                StockReportDTO::getQuantity).containsExactly(tuple(nameB, 10));
+    }
+
+    @Test
+    void whenAsOfPrecedesEverySnapshot_thenRejected() {
+        assertThatThrownBy(() -> stockLedgerService.getStockAsOf(LocalDateTime.of(2000, 1, 1, 0, 0)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("No stock snapshot");
+    }
+
+    private void move(Movement.MovementType type, int quantity, Long toLocationId) {
+        movementService.createMovement(MovementDTO.builder()
+                .itemId(item.getId())
+                .toLocationId(toLocationId)
+                .quantity(quantity)
+                .type(type)
+                .build());
+    }
+
+    private List<StockReportDTO> reportOf(LocalDateTime asOf) {
+        return reportService.generateStockReportAsOf(asOf).stream()
+                .filter(report -> report.getItemId().equals(item.getId()))
+                .toList();
+    }
+
+    private StockLedgerService.ItemStockAsOf stockOf(LocalDateTime asOf) {
+        return stockLedgerService.getStockAsOf(asOf).stream()
+                .filter(stock -> stock.itemId().equals(item.getId()))
+                .findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,148 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.dto.StockReportDTO;
+import com.inventory.manager.entity.Location;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.repository.ItemRepository;
+import com.inventory.manager.repository.LocationRepository;
+import com.inventory.manager.repository.StockLevelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class StockLevelTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MovementService movementService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private StockLevelRepository stockLevelRepository;
+
+    private Long warehouseA;
+    private Long warehouseB;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+        warehouseB = locationRepository.findByCode("WH-B").orElseThrow().getId();
+        itemId = itemService.createItem(ItemDTO.builder()
+                .name("Spread Item")
+                .sku("SPREAD-001")
+                .quantity(100)
+                .unitPrice(BigDecimal.ONE)
+                .locationId(warehouseA)
+                .build()).getId();
+    }
+
+    @Test
+    void whenPartOfTheStockIsTransferred_thenOnlyThatPartMoves() {
+        movementService.createMovement(movement(Movement.MovementType.TRANSFER, 5, warehouseA, warehouseB));
+
+        assertThat(level(warehouseA)).isEqualTo(95);
+        assertThat(level(warehouseB)).isEqualTo(5);
+        assertThat(itemRepository.findById(itemId).orElseThrow().getQuantity()).isEqualTo(100);
+        assertThat(itemRepository.findById(itemId).orElseThrow().getLocation().getId()).isEqualTo(warehouseA);
+        assertThat(reportRow(warehouseA).getQuantity()).isEqualTo(95);
+        assertThat(reportRow(warehouseB).getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void whenShippingMoreThanTheSourceHolds_thenRejectedEvenIfTheTotalSuffices() {
+        movementService.createMovement(movement(Movement.MovementType.TRANSFER, 5, warehouseA, warehouseB));
+
+        assertThatThrownBy(() -> movementService.createMovement(
+                movement(Movement.MovementType.SHIPMENT, 6, warehouseB, warehouseB)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Insufficient quantity for shipment");
+    }
+
+    @Test
+    void whenBatchMovesStock_thenLevelsFollowInRequestOrder() {
+        movementService.createMovements(List.of(
+                movement(Movement.MovementType.RECEIPT, 10, null, warehouseB),
+                movement(Movement.MovementType.TRANSFER, 10, warehouseB, warehouseA),
+                movement(Movement.MovementType.ADJUSTMENT, 50, null, warehouseA)));
+
+        assertThat(level(warehouseB)).isZero();
+        assertThat(level(warehouseA)).isEqualTo(50);
+        assertThat(itemRepository.findById(itemId).orElseThrow().getQuantity()).isEqualTo(50);
+    }
+
+    @Test
+    void whenQuantityIsSetThroughTheCatalog_thenOnlyTheHomeLocationAbsorbsTheChange() {
+        movementService.createMovement(movement(Movement.MovementType.TRANSFER, 30, warehouseA, warehouseB));
+
+        ItemDTO update = itemService.getItemById(itemId);
+        update.setQuantity(120);
+        itemService.updateItem(itemId, update);
+        assertThat(level(warehouseA)).isEqualTo(90);
+        assertThat(level(warehouseB)).isEqualTo(30);
+
+        update.setQuantity(20);
+        assertThatThrownBy(() -> itemService.updateItem(itemId, update))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void whenLocationStillHoldsStockOfItemsHomedElsewhere_thenItCannotBeDeleted() {
+        Long overflow = locationRepository.save(Location.builder()
+                .name("Overflow")
+                .code("OVERFLOW-1")
+                .type(Location.LocationType.WAREHOUSE)
+                .build()).getId();
+        movementService.createMovement(movement(Movement.MovementType.TRANSFER, 1, warehouseA, overflow));
+
+        assertThatThrownBy(() -> locationService.deleteLocation(overflow))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("still holds stock");
+    }
+
+    private int level(Long locationId) {
+        return stockLevelRepository.findQuantity(itemId, locationId).orElse(0);
+    }
+
+    private StockReportDTO reportRow(Long locationId) {
+        return reportService.generateStockReportByLocation(locationId).stream()
+                .filter(row -> row.getItemId().equals(itemId))
+                .findFirst().orElseThrow();
+    }
+
+    private MovementDTO movement(Movement.MovementType type, int quantity, Long fromLocationId, Long toLocationId) {
+        return MovementDTO.builder()
+                .itemId(itemId)
+                .fromLocationId(fromLocationId)
+                .toLocationId(toLocationId)
+                .quantity(quantity)
+                .type(type)
+                .build();
+    }
+}
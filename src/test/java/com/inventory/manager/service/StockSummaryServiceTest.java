@@ -0,0 +1,140 @@
+package com.inventory.manager.service;
+
+import com.inventory.manager.dto.ItemDTO;
+import com.inventory.manager.dto.MovementDTO;
+import com.inventory.manager.dto.StockReportDTO;
+import com.inventory.manager.dto.StockSummaryDTO;
+import com.inventory.manager.entity.Item;
+import com.inventory.manager.entity.Movement;
+import com.inventory.manager.repository.LocationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class StockSummaryServiceTest {
+    
+    @Autowired
+    private StockSummaryService stockSummaryService;
+    
+    @Autowired
+    private ItemService itemService;
+    
+    @Autowired
+    private MovementService movementService;
+    
+    @Autowired
+    private ReportService reportService;
+    
+    @Autowired
+    private LocationRepository locationRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Long warehouseA;
+    private Long warehouseB;
+    
+    @BeforeEach
+    void setUp() {
+        // start from aggregates that match the items table, whatever other tests left behind
+        stockSummaryService.rebuild();
+        warehouseA = locationRepository.findByCode("WH-A").orElseThrow().getId();
+        warehouseB = locationRepository.findByCode("WH-B").orElseThrow().getId();
+    }
+    
+    @Test
+    void whenItemCreated_thenLocationSummaryIncludesIt() {
+        StockSummaryDTO before = stockSummaryService.getLocationSummary(warehouseA);
+        
+        itemService.createItem(item("SUMMARY-001", 10, "2.50", warehouseA));
+        
+        StockSummaryDTO after = stockSummaryService.getLocationSummary(warehouseA);
+        assertThat(after.getItemCount()).isEqualTo(before.getItemCount() + 1);
+        assertThat(after.getTotalQuantity()).isEqualTo(before.getTotalQuantity() + 10);
+        assertThat(after.getTotalValue()).isEqualByComparingTo(before.getTotalValue().add(new BigDecimal("25.00")));
+        assertThat(after.getName()).isEqualTo("Warehouse A");
+    }
+    
+    @Test
+    void whenItemsChangeThroughAllWriters_thenIncrementalSummariesMatchRebuild() {
+        ItemDTO first = itemService.createItem(item("SUMMARY-101", 40, "3.00", warehouseA));
+        ItemDTO second = itemService.createItem(item("SUMMARY-102", 5, "10.00", warehouseB));
+        ItemDTO third = itemService.createItem(item("SUMMARY-103", 8, "1.25", null));
+        
+        movementService.createMovement(movement(first.getId(), warehouseB, 15, Movement.MovementType.SHIPMENT));
+        movementService.createMovement(movement(second.getId(), warehouseA, 7, Movement.MovementType.RECEIPT));
+        movementService.createMovements(List.of(
+                movement(first.getId(), warehouseA, 3, Movement.MovementType.RECEIPT),
+                movement(second.getId(), warehouseB, 20, Movement.MovementType.ADJUSTMENT)));
+        movementService.createMovement(movement(first.getId(), warehouseB, 5, Movement.MovementType.TRANSFER));
+        
+        ItemDTO update = item("SUMMARY-101", 9, "4.00", warehouseA);
+        update.setStatus(Item.ItemStatus.RESERVED);
+        itemService.updateItem(first.getId(), update);
+        itemService.deleteItem(third.getId());
+        
+        List<StockSummaryDTO> incrementalLocations = stockSummaryService.getLocationSummaries();
+        List<StockSummaryDTO> incrementalSuppliers = stockSummaryService.getSupplierSummaries();
+        
+        entityManager.flush();
+        stockSummaryService.rebuild();
+        
+        assertThat(incrementalLocations).isEqualTo(stockSummaryService.getLocationSummaries());
+        assertThat(incrementalSuppliers).isEqualTo(stockSummaryService.getSupplierSummaries());
+    }
+    
+    @Test
+    void whenStockIsTransferred_thenLocationSummariesAgreeWithTheStockReport() {
+        ItemDTO item = itemService.createItem(item("SUMMARY-201", 30, "2.00", warehouseA));
+        StockSummaryDTO before = stockSummaryService.getLocationSummary(warehouseB);
+        
+        movementService.createMovement(movement(item.getId(), warehouseB, 12, Movement.MovementType.TRANSFER));
+        movementService.createMovements(List.of(
+                movement(item.getId(), warehouseB, 3, Movement.MovementType.TRANSFER)));
+        
+        StockSummaryDTO after = stockSummaryService.getLocationSummary(warehouseB);
+        assertThat(after.getItemCount()).isEqualTo(before.getItemCount() + 1);
+        assertThat(after.getTotalQuantity()).isEqualTo(before.getTotalQuantity() + 15);
+        assertThat(after.getTotalValue()).isEqualByComparingTo(before.getTotalValue().add(new BigDecimal("30.00")));
+        for (Long locationId : List.of(warehouseA, warehouseB)) {
+            List<StockReportDTO> report = reportService.generateStockReportByLocation(locationId);
+            StockSummaryDTO summary = stockSummaryService.getLocationSummary(locationId);
+            assertThat(summary.getItemCount()).isEqualTo(report.size());
+            assertThat(summary.getTotalQuantity())
+                    .isEqualTo(report.stream().mapToLong(StockReportDTO::getQuantity).sum());
+            assertThat(summary.getTotalValue()).isEqualByComparingTo(report.stream()
+                    .map(StockReportDTO::getTotalValue)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+    }
+    
+    private ItemDTO item(String sku, int quantity, String unitPrice, Long locationId) {
+        return ItemDTO.builder()
+                .name("Summary Item " + sku)
+                .sku(sku)
+                .quantity(quantity)
+                .unitPrice(new BigDecimal(unitPrice))
+                .locationId(locationId)
+                .supplierId(1L)
+                .build();
+    }
+    
+    private MovementDTO movement(Long itemId, Long toLocationId, int quantity, Movement.MovementType type) {
+        return MovementDTO.builder()
+                .itemId(itemId)
+                .toLocationId(toLocationId)
+                .quantity(quantity)
+                .type(type)
+                .build();
+    }
+}